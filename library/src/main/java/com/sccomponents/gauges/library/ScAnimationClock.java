@@ -0,0 +1,178 @@
+package com.sccomponents.gauges.library;
+
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Drive all the animations of the gauges with a single frame callback.
+ * Every listener registered is called once for each frame from the Choreographer and must
+ * return if still need to be animated. When no listener remain the clock stop to post the
+ * frame callback so, when nothing is animating, not have any cost.
+ * This class must be used only from the UI thread.
+ *
+ * @author Samuele Carassai
+ * @version 3.5.0
+ * @since 2016-05-26
+ */
+public class ScAnimationClock {
+
+    // ***************************************************************************************
+    // Private static variables
+
+    private static ScAnimationClock mInstance;
+
+
+    // ***************************************************************************************
+    // Private variables
+
+    private Choreographer mChoreographer;
+    private List<OnFrameListener> mListeners;
+    private List<OnFrameListener> mFrameListeners;
+    private boolean mIsPosted;
+
+    // Events proxies
+    private Choreographer.FrameCallback proxyFrameCallback =
+            new Choreographer.FrameCallback() {
+                @Override
+                public void doFrame(long frameTimeNanos) {
+                    callOnFrame(frameTimeNanos);
+                }
+            };
+
+
+    // ***************************************************************************************
+    // Constructor
+
+    private ScAnimationClock() {
+        // Init
+        this.mChoreographer = Choreographer.getInstance();
+        this.mListeners = new ArrayList<>();
+        this.mFrameListeners = new ArrayList<>();
+        this.mIsPosted = false;
+    }
+
+
+    // ***************************************************************************************
+    // Private methods
+
+    /**
+     * Post the frame callback only if have listeners to call and it is not already posted.
+     */
+    private void postFrame() {
+        // Check for empty values
+        if (this.mIsPosted || this.mListeners.isEmpty())
+            return ;
+
+        // Post
+        this.mChoreographer.postFrameCallback(this.proxyFrameCallback);
+        this.mIsPosted = true;
+    }
+
+    /**
+     * Advance all the listeners to the current frame time.
+     * The listeners that not need more frames are removed.
+     * @param frameTimeNanos the frame time in nanoseconds
+     */
+    private void callOnFrame(long frameTimeNanos) {
+        // The callback is consumed
+        this.mIsPosted = false;
+
+        // Work on a copy as the listeners can register or unregister themselves
+        this.mFrameListeners.clear();
+        this.mFrameListeners.addAll(this.mListeners);
+
+        // Cycle all listeners
+        for (int index = 0; index < this.mFrameListeners.size(); index ++) {
+            // Call the listener and remove it if not need more frames
+            OnFrameListener listener = this.mFrameListeners.get(index);
+            if (!listener.onFrame(frameTimeNanos))
+                this.mListeners.remove(listener);
+        }
+
+        // Release the references and post the next frame if needed
+        this.mFrameListeners.clear();
+        this.postFrame();
+    }
+
+
+    // ***************************************************************************************
+    // Public methods
+
+    /**
+     * Get the clock shared by all the gauges.
+     * @return the clock
+     */
+    @SuppressWarnings({"unused", "WeakerAccess"})
+    public static ScAnimationClock getInstance() {
+        // Create the instance only when needed
+        if (ScAnimationClock.mInstance == null)
+            ScAnimationClock.mInstance = new ScAnimationClock();
+        return ScAnimationClock.mInstance;
+    }
+
+    /**
+     * Register a listener to be called at the next frames.
+     * If the listener is already registered will not be added again.
+     * @param listener the listener
+     */
+    @SuppressWarnings({"unused", "WeakerAccess"})
+    public void register(OnFrameListener listener) {
+        // Check for empty values
+        if (listener == null || this.mListeners.contains(listener))
+            return ;
+
+        // Add and post the frame callback
+        this.mListeners.add(listener);
+        this.postFrame();
+    }
+
+    /**
+     * Unregister a listener.
+     * If not remain any listeners the frame callback will be removed.
+     * @param listener the listener
+     */
+    @SuppressWarnings({"unused", "WeakerAccess"})
+    public void unregister(OnFrameListener listener) {
+        // Remove the listener
+        this.mListeners.remove(listener);
+
+        // Remove the frame callback if nothing is animating
+        if (this.mIsPosted && this.mListeners.isEmpty()) {
+            this.mChoreographer.removeFrameCallback(this.proxyFrameCallback);
+            this.mIsPosted = false;
+        }
+    }
+
+    /**
+     * Check if the listener is registered.
+     * @param listener the listener
+     * @return true if registered
+     */
+    @SuppressWarnings({"unused"})
+    public boolean isRegistered(OnFrameListener listener) {
+        return this.mListeners.contains(listener);
+    }
+
+
+    // ***************************************************************************************
+    // Public listener and interface
+
+    /**
+     * Define the frame listener interface
+     */
+    @SuppressWarnings("unused")
+    public interface OnFrameListener {
+
+        /**
+         * Called once for each frame.
+         * @param frameTimeNanos    the frame time in nanoseconds
+         * @return                  true if need to be called again at the next frame
+         */
+        boolean onFrame(long frameTimeNanos);
+
+    }
+
+}
@@ -9,6 +9,8 @@ import android.os.Parcelable;
 import android.util.AttributeSet;
 import android.view.ViewGroup;
 
+import java.util.Arrays;
+
 /**
  * Define a arc path and draw on it.
  * <p>
@@ -103,23 +105,48 @@ public class ScArcGauge extends ScGauge {
         if (this.getLayoutParams().width == ViewGroup.LayoutParams.WRAP_CONTENT) width = height;
         if (this.getLayoutParams().height == ViewGroup.LayoutParams.WRAP_CONTENT) height = width;
 
-        // the new path and the area
-        Path path = new Path();
+        // The arc area
         RectF area = new RectF(0.0f, 0.0f, width, height);
 
-        // If the sweep angle if 360° must resolve a issue with addArc than not drawing proper on
-        // certains angle values.
-        if (this.mAngleSweep == 360.0f || this.mAngleSweep == -360.0f) {
-            // Draw the arc
-            path.addArc(area, this.mAngleStart, 359.99f);
-            path.close();
+        // If using the arc geometry it will create the path and measure it by the arc
+        // equations.
+        ScGeometry geometry = this.getGeometry();
+        if (geometry instanceof ScArcMeasure)
+            return ((ScArcMeasure) geometry).setArc(area, this.mAngleStart, this.mAngleSweep);
+
+        // Create the arc path
+        return ScArcMeasure.createArcPath(area, this.mAngleStart, this.mAngleSweep);
+    }
 
-        } else
-            // Draw the arc
-            path.addArc(area, this.mAngleStart, this.mAngleSweep);
+    /**
+     * Create the arc geometry engine.
+     * @return  the new geometry engine
+     */
+    @Override
+    protected ScGeometry createGeometry() {
+        return new ScArcMeasure();
+    }
 
-        // Return the path
-        return path;
+    /**
+     * Get the key that identify the arc path.
+     * The arcs with the same class, dimensions and angles share the same geometry when the
+     * geometry sharing is enabled.
+     * @param width     the drawing area width
+     * @param height    the drawing area height
+     * @return          the key
+     */
+    @Override
+    protected Object getGeometryKey(int width, int height) {
+        // The path dimensions could be changed if wrapping the content
+        ViewGroup.LayoutParams params = this.getLayoutParams();
+        boolean wrapWidth = params.width == ViewGroup.LayoutParams.WRAP_CONTENT;
+        boolean wrapHeight = params.height == ViewGroup.LayoutParams.WRAP_CONTENT;
+
+        // Create the key
+        return Arrays.asList(
+                this.getClass(), width, height, wrapWidth, wrapHeight,
+                this.mAngleStart, this.mAngleSweep
+        );
     }
 
 
@@ -0,0 +1,741 @@
+package com.sccomponents.gauges.library;
+
+import android.graphics.Path;
+import android.graphics.RectF;
+
+
+/**
+ * Extend the ScPathMeasure for measure a circular arc.
+ * When the arc is defined by the setArc method and the area is a square all the measures are
+ * calculated by the arc equations, so the position, the tangent, the segments and the nearest
+ * point on path are exact and the path not need to be approximated.
+ * In all the others cases (elliptic arc or generic path) the class will work like its parent.
+ *
+ * @author Samuele Carassai
+ * @version 3.5.0
+ * @since 2016-05-26
+ */
+public class ScArcMeasure extends ScPathMeasure {
+
+    // ***************************************************************************************
+    // Constants
+
+    private static final float FULL_CIRCLE = 360.0f;
+    private static final float FULL_CIRCLE_SWEEP = 359.99f;
+
+
+    // ***************************************************************************************
+    // Private
+
+    private boolean mIsAnalytic;
+    private Path mArcPath;
+    private RectF mArcBounds;
+
+    private float mCenterX;
+    private float mCenterY;
+    private float mRadius;
+    private float mStartAngle;
+    private float mSweepAngle;
+    private float mArcLength;
+
+    // For internal calculation
+    private float[] mGenericPoint;
+    private RectF mGenericArea;
+    private float mNearestDistance;
+    private float mNearestPosition;
+
+
+    // ***************************************************************************************
+    // Constructor
+
+    @SuppressWarnings({"unused"})
+    public ScArcMeasure() {
+        // Super
+        super();
+
+        // Init
+        this.mGenericPoint = new float[2];
+        this.mGenericArea = new RectF();
+        this.mArcBounds = new RectF();
+    }
+
+
+    // ***************************************************************************************
+    // Private methods
+
+    /**
+     * Check if the sweep angle define a full circle.
+     * @param sweep the sweep angle in degrees
+     * @return      true if a full circle
+     */
+    private static boolean isFullCircle(float sweep) {
+        return sweep == ScArcMeasure.FULL_CIRCLE || sweep == -ScArcMeasure.FULL_CIRCLE;
+    }
+
+    /**
+     * Normalize an angle in degrees to be in the same range of the atan2 result.
+     * @param degrees   the angle in degrees
+     * @return          the angle from -180 to 180 degrees
+     */
+    private static float normalizeAngle(float degrees) {
+        degrees %= ScArcMeasure.FULL_CIRCLE;
+        if (degrees > 180.0f) degrees -= ScArcMeasure.FULL_CIRCLE;
+        if (degrees <= -180.0f) degrees += ScArcMeasure.FULL_CIRCLE;
+        return degrees;
+    }
+
+    /**
+     * Get the angle, in degrees, of the arc point at the passed distance from the arc start.
+     * @param distance  the distance from the arc start
+     * @return          the angle in degrees
+     */
+    private float getArcAngle(float distance) {
+        // Check for empty value
+        if (this.mArcLength == 0.0f)
+            return this.mStartAngle;
+
+        // Proportional
+        return this.mStartAngle + this.mSweepAngle * (distance / this.mArcLength);
+    }
+
+    /**
+     * Get the distance from the arc start of the arc point at the passed angle.
+     * @param degrees   the angle in degrees
+     * @return          the distance or -1 if the angle is not inside the arc
+     */
+    private float getArcDistance(float degrees) {
+        // Find the angle relative to the arc start following the arc direction
+        float sweep = Math.abs(this.mSweepAngle);
+        float relative = (degrees - this.mStartAngle) * Math.signum(this.mSweepAngle);
+        relative %= ScArcMeasure.FULL_CIRCLE;
+        if (relative < 0.0f) relative += ScArcMeasure.FULL_CIRCLE;
+
+        // Check the limits
+        if (sweep == 0.0f || relative > sweep)
+            return -1;
+
+        // Proportional
+        return this.mArcLength * (relative / sweep);
+    }
+
+    /**
+     * Get the arc point at the passed distance from the arc start.
+     * The point will be stored inside the passed array.
+     * @param distance  the distance from the arc start
+     * @param point     the array where will save the point coordinates
+     * @return          the tangent angle in degrees
+     */
+    private float getArcPoint(float distance, float[] point) {
+        // Find the point
+        float degrees = this.getArcAngle(distance);
+        double radiant = Math.toRadians(degrees);
+        point[0] = this.mCenterX + this.mRadius * (float) Math.cos(radiant);
+        point[1] = this.mCenterY + this.mRadius * (float) Math.sin(radiant);
+
+        // The tangent is perpendicular to the radius following the arc direction
+        return ScArcMeasure.normalizeAngle(
+                degrees + (this.mSweepAngle < 0.0f ? -90.0f: 90.0f));
+    }
+
+    /**
+     * Find the arc bounds considering the arc limits and the arc extreme points.
+     */
+    private void calculateBounds() {
+        // Start and end points
+        this.getArcPoint(0.0f, this.mGenericPoint);
+        this.mArcBounds.set(
+                this.mGenericPoint[0], this.mGenericPoint[1],
+                this.mGenericPoint[0], this.mGenericPoint[1]
+        );
+        this.getArcPoint(this.mArcLength, this.mGenericPoint);
+        this.mArcBounds.union(this.mGenericPoint[0], this.mGenericPoint[1]);
+
+        // Extreme points if inside the arc
+        if (this.getArcDistance(0.0f) != -1)
+            this.mArcBounds.union(this.mCenterX + this.mRadius, this.mCenterY);
+        if (this.getArcDistance(90.0f) != -1)
+            this.mArcBounds.union(this.mCenterX, this.mCenterY + this.mRadius);
+        if (this.getArcDistance(180.0f) != -1)
+            this.mArcBounds.union(this.mCenterX - this.mRadius, this.mCenterY);
+        if (this.getArcDistance(270.0f) != -1)
+            this.mArcBounds.union(this.mCenterX, this.mCenterY - this.mRadius);
+    }
+
+    /**
+     * Update the nearest point info if the passed point is nearest than the current one.
+     * @param x         the x of the searched point
+     * @param y         the y of the searched point
+     * @param pointX    the x of the arc point
+     * @param pointY    the y of the arc point
+     * @param position  the arc point distance from the arc start
+     */
+    private void updateNearest(float x, float y, float pointX, float pointY, float position) {
+        // Find the squared distance
+        float dx = pointX - x;
+        float dy = pointY - y;
+        float distance = dx * dx + dy * dy;
+
+        // Check if nearest
+        if (distance < this.mNearestDistance ||
+                (distance == this.mNearestDistance && position < this.mNearestPosition)) {
+            this.mNearestDistance = distance;
+            this.mNearestPosition = position;
+        }
+    }
+
+    /**
+     * Check the arc point at the passed distance against the searching area.
+     * @param x         the x of the searched point
+     * @param y         the y of the searched point
+     * @param threshold the threshold to define the checking area
+     * @param distance  the distance from the arc start
+     */
+    private void checkNearestDistance(float x, float y, float threshold, float distance) {
+        // Find the point and check if inside the area
+        this.getArcPoint(distance, this.mGenericPoint);
+        if (Math.abs(this.mGenericPoint[0] - x) > threshold ||
+                Math.abs(this.mGenericPoint[1] - y) > threshold)
+            return;
+
+        // Update
+        this.updateNearest(x, y, this.mGenericPoint[0], this.mGenericPoint[1], distance);
+    }
+
+    /**
+     * Check the points where the arc cross one border of the searching area.
+     * @param x         the x of the searched point
+     * @param y         the y of the searched point
+     * @param threshold the threshold to define the checking area
+     * @param border    the border coordinate
+     * @param vertical  true if the border is vertical
+     */
+    private void checkNearestBorder(
+            float x, float y, float threshold, float border, boolean vertical) {
+        // Find the distance of the border from the center
+        float gap = border - (vertical ? this.mCenterX: this.mCenterY);
+        if (Math.abs(gap) > this.mRadius)
+            return;
+
+        // Check the two crossing points
+        float offset = (float) Math.sqrt(this.mRadius * this.mRadius - gap * gap);
+        for (int sign = -1; sign <= 1; sign += 2) {
+            // Find the point
+            float pointX = vertical ? border: this.mCenterX + sign * offset;
+            float pointY = vertical ? this.mCenterY + sign * offset: border;
+
+            // Check if inside the border limits
+            if (Math.abs(vertical ? pointY - y: pointX - x) > threshold)
+                continue;
+
+            // Check if inside the arc
+            float degrees = (float) Math.toDegrees(
+                    Math.atan2(pointY - this.mCenterY, pointX - this.mCenterX));
+            float distance = this.getArcDistance(degrees);
+            if (distance != -1)
+                this.updateNearest(x, y, pointX, pointY, distance);
+        }
+    }
+
+
+    // ***************************************************************************************
+    // Overrides
+
+    /**
+     * Set the current path.
+     * If the path is the one created by the setArc method nothing will change, else the
+     * arc equations will be discarded and the path will be measured like a generic path.
+     * @param path          the source path
+     * @param forceClosed   force to close
+     */
+    @Override
+    public void setPath(Path path, boolean forceClosed) {
+        // Check if the same arc
+        if (this.mIsAnalytic && path == this.mArcPath && !forceClosed)
+            return;
+
+        // Generic path
+        this.mIsAnalytic = false;
+        this.mArcPath = null;
+        super.setPath(path, forceClosed);
+    }
+
+    /**
+     * Get the length of the arc.
+     * @return the path length
+     */
+    @Override
+    public float getLength() {
+        return this.mIsAnalytic ? this.mArcLength: super.getLength();
+    }
+
+    /**
+     * Return true if the arc is a full circle.
+     * @return true if closed
+     */
+    @Override
+    public boolean isClosed() {
+        return this.mIsAnalytic ? ScArcMeasure.isFullCircle(this.mSweepAngle): super.isClosed();
+    }
+
+    /**
+     * Pins distance to 0 <= distance <= getLength(), and then computes the corresponding position
+     * and tangent.
+     * @param distance  The distance along the current contour to sample
+     * @param pos       If not null, returns the sampled position (x==[0], y==[1])
+     * @param tan       If not null, returns the sampled tangent (x==[0], y==[1])
+     * @return          false if there was no path associated with this measure object
+     */
+    @Override
+    public boolean getPosTan(float distance, float[] pos, float[] tan) {
+        // Check the case
+        if (!this.mIsAnalytic)
+            return super.getPosTan(distance, pos, tan);
+
+        // Check the limits
+        if (this.mArcLength == 0.0f || distance > this.mArcLength)
+            return false;
+        if (distance < 0.0f)
+            distance = 0.0f;
+
+        // Find the point
+        float degrees = this.getArcPoint(distance, this.mGenericPoint);
+        if (pos != null) {
+            pos[0] = this.mGenericPoint[0];
+            pos[1] = this.mGenericPoint[1];
+        }
+        if (tan != null) {
+            double radiant = Math.toRadians(degrees);
+            tan[0] = (float) Math.cos(radiant);
+            tan[1] = (float) Math.sin(radiant);
+        }
+        return true;
+    }
+
+    /**
+     * Given a start and stop distance, return in dst the intervening arc.
+     * If the segment is zero-length, return false, else return true.
+     * startD and stopD are pinned to legal values (0..getLength()).
+     * @param startD            the start distance
+     * @param stopD             the end distance
+     * @param dst               the destination path
+     * @param startWithMoveTo   start with a moveTo calling
+     */
+    @Override
+    public boolean getSegment(float startD, float stopD, Path dst, boolean startWithMoveTo) {
+        // Check the case
+        if (!this.mIsAnalytic)
+            return super.getSegment(startD, stopD, dst, startWithMoveTo);
+
+        // Check for proper values
+        if (dst == null || startD > stopD)
+            return false;
+
+        // Pins the limits
+        if (startD < 0.0f) startD = 0.0f;
+        if (stopD > this.mArcLength) stopD = this.mArcLength;
+
+        // Reset all
+        dst.reset();
+        if (startD >= stopD)
+            return false;
+
+        // Find the angles.
+        // The arcTo method consider the sweep angle modulo 360 so a full circle must be fixed.
+        float start = this.getArcAngle(startD);
+        float sweep = this.getArcAngle(stopD) - start;
+        if (sweep >= ScArcMeasure.FULL_CIRCLE) sweep = ScArcMeasure.FULL_CIRCLE_SWEEP;
+        if (sweep <= -ScArcMeasure.FULL_CIRCLE) sweep = -ScArcMeasure.FULL_CIRCLE_SWEEP;
+
+        // Add the arc.
+        // On KITKAT and earlier releases, the resulting path may not display on a
+        // hardware-accelerated Canvas. A simple workaround is to add a single
+        // operation to this path segment.
+        this.mGenericArea.set(
+                this.mCenterX - this.mRadius, this.mCenterY - this.mRadius,
+                this.mCenterX + this.mRadius, this.mCenterY + this.mRadius
+        );
+        dst.arcTo(this.mGenericArea, start, sweep, true);
+        dst.rLineTo(0, 0);
+        return true;
+    }
+
+
+    // ***************************************************************************************
+    // Public methods
+
+    /**
+     * Create a arc path.
+     * If the sweep angle is a full circle the arc will be closed.
+     * @param area  the arc area
+     * @param start the start angle in degrees
+     * @param sweep the sweep angle in degrees
+     * @return      the path
+     */
+    @SuppressWarnings({"unused"})
+    public static Path createArcPath(RectF area, float start, float sweep) {
+        // The new path
+        Path path = new Path();
+
+        // If the sweep angle if 360° must resolve a issue with addArc than not drawing proper on
+        // certains angle values.
+        if (ScArcMeasure.isFullCircle(sweep)) {
+            // Draw the arc
+            path.addArc(area, start, ScArcMeasure.FULL_CIRCLE_SWEEP);
+            path.close();
+
+        } else
+            // Draw the arc
+            path.addArc(area, start, sweep);
+
+        // Return the path
+        return path;
+    }
+
+    /**
+     * Set the arc to measure and create its path.
+     * If the area is a square the arc will be measured by its equations else will be measured
+     * like a generic path.
+     * @param area  the arc area
+     * @param start the start angle in degrees
+     * @param sweep the sweep angle in degrees
+     * @return      the arc path
+     */
+    @SuppressWarnings({"unused"})
+    public Path setArc(RectF area, float start, float sweep) {
+        // Create the path
+        Path path = ScArcMeasure.createArcPath(area, start, sweep);
+
+        // Only a circle can be measured by the equations
+        if (area.width() != area.height()) {
+            this.setPath(path, false);
+            return path;
+        }
+
+        // Discard the parent measures
+        super.setPath(null, false);
+
+        // Store the arc info
+        this.mIsAnalytic = true;
+        this.mArcPath = path;
+        this.mCenterX = area.centerX();
+        this.mCenterY = area.centerY();
+        this.mRadius = Math.abs(area.width()) / 2.0f;
+        this.mStartAngle = start;
+        this.mSweepAngle = sweep;
+        this.mArcLength = (float) Math.toRadians(Math.abs(sweep)) * this.mRadius;
+        this.calculateBounds();
+
+        // Return the path
+        return path;
+    }
+
+    /**
+     * Set the arc to measure mapping an analytic arc by an uniform scale and an offset.
+     * A circle scaled uniformly is still a circle so the new arc will be measured by its
+     * equations too.
+     * @param source    the analytic arc to map
+     * @param scale     the uniform scale
+     * @param offsetX   the horizontal offset applied after the scale
+     * @param offsetY   the vertical offset applied after the scale
+     * @return          the arc path or null if the source is not analytic
+     */
+    @SuppressWarnings({"unused"})
+    public Path setArc(ScArcMeasure source, float scale, float offsetX, float offsetY) {
+        // Check for empty values
+        if (source == null || !source.mIsAnalytic)
+            return null;
+
+        // Map the arc area
+        float centerX = source.mCenterX * scale + offsetX;
+        float centerY = source.mCenterY * scale + offsetY;
+        float radius = source.mRadius * scale;
+        RectF area = new RectF(
+                centerX - radius, centerY - radius,
+                centerX + radius, centerY + radius
+        );
+
+        // Set the arc
+        return this.setArc(area, source.mStartAngle, source.mSweepAngle);
+    }
+
+    /**
+     * Check if the measures are calculated by the arc equations.
+     * @return true if analytic
+     */
+    @SuppressWarnings({"unused"})
+    public boolean isAnalytic() {
+        return this.mIsAnalytic;
+    }
+
+    /**
+     * Get the source path.
+     * @return a Path
+     */
+    @Override
+    public Path getPath() {
+        return this.mIsAnalytic ? this.mArcPath: super.getPath();
+    }
+
+    /**
+     * Get the source path, between all contours, where the distance fall.
+     * @return a Path
+     */
+    @Override
+    public Path getPath(float distance) {
+        // Check the case
+        if (!this.mIsAnalytic)
+            return super.getPath(distance);
+
+        // The arc have only one contour
+        return distance <= this.mArcLength ? new Path(this.mArcPath): null;
+    }
+
+    /**
+     * Get the source path given an index.
+     * @return a Path
+     */
+    @Override
+    public Path getPath(int index) {
+        // Check the case
+        if (!this.mIsAnalytic)
+            return super.getPath(index);
+
+        // The arc have only one contour
+        return index == 0 ? new Path(this.mArcPath): null;
+    }
+
+    /**
+     * Get the contours count
+     * @return the count
+     */
+    @Override
+    public int countContours() {
+        return this.mIsAnalytic ? 1: super.countContours();
+    }
+
+    /**
+     * Find the indexed contour
+     * @param index the index to find
+     * @return the contour global distance from the path start or -1 if not found
+     */
+    @Override
+    public float moveToContour(int index) {
+        // Check the case
+        if (!this.mIsAnalytic)
+            return super.moveToContour(index);
+
+        // The arc have only one contour
+        return index == 0 ? 0.0f: -1;
+    }
+
+    /**
+     * Find the contour where the distance fall
+     * @param distance the distance from path start
+     * @return the contour global distance from the path start or -1 if not found
+     */
+    @Override
+    public float moveToContour(float distance) {
+        // Check the case
+        if (!this.mIsAnalytic)
+            return super.moveToContour(distance);
+
+        // The arc have only one contour
+        return distance <= this.mArcLength ? 0.0f: -1;
+    }
+
+    /**
+     * Create a cursor for query the positions on the path in sequence.
+     * The arc equations not need to remember the last position so, when the arc is analytic,
+     * the cursor will simply call the getPosTan method.
+     * @return a new cursor
+     */
+    @Override
+    public ScPathCursor createCursor() {
+        // Holders
+        final ScPathCursor cursor = super.createCursor();
+
+        // Choose the case at every query as the arc can change
+        return new ScPathCursor() {
+            @Override
+            public boolean getPosTan(float distance, float[] pos, float[] tan) {
+                return mIsAnalytic ?
+                        ScArcMeasure.this.getPosTan(distance, pos, tan):
+                        cursor.getPosTan(distance, pos, tan);
+            }
+
+            @Override
+            public void reset() {
+                cursor.reset();
+            }
+        };
+    }
+
+    /**
+     * Get the arc bounds.
+     * @return the path boundaries
+     */
+    @Override
+    public RectF getBounds() {
+        return this.mIsAnalytic ? this.mArcBounds: super.getBounds();
+    }
+
+    /**
+     * Find the distance (from path start) of point nearest to the passed one considering
+     * only the area defined by the threshold parameter.
+     * If the nearest point of the arc is outside the area the nearest point inside the area
+     * must be one of the arc ends or one of the points where the arc cross the area borders.
+     * @param x         the x of point
+     * @param y         the y of point
+     * @param threshold the threshold to define the checking area
+     * @return          return -1 if the point is not on the path else the distance of the point from start
+     */
+    @Override
+    public float getPositionOnPath(float x, float y, float threshold) {
+        // Check the case
+        if (!this.mIsAnalytic)
+            return super.getPositionOnPath(x, y, threshold);
+
+        // Reset
+        this.mNearestDistance = Float.MAX_VALUE;
+        this.mNearestPosition = -1;
+        if (threshold <= 0.0f || this.mArcLength == 0.0f)
+            return -1;
+
+        // The nearest point of the whole circle
+        float degrees = (float) Math.toDegrees(Math.atan2(y - this.mCenterY, x - this.mCenterX));
+        float distance = this.getArcDistance(degrees);
+        if (distance != -1) {
+            this.checkNearestDistance(x, y, threshold, distance);
+            if (this.mNearestPosition != -1)
+                return this.mNearestPosition;
+        }
+
+        // The arc ends
+        this.checkNearestDistance(x, y, threshold, 0.0f);
+        this.checkNearestDistance(x, y, threshold, this.mArcLength);
+
+        // The area borders
+        this.checkNearestBorder(x, y, threshold, x - threshold, true);
+        this.checkNearestBorder(x, y, threshold, x + threshold, true);
+        this.checkNearestBorder(x, y, threshold, y - threshold, false);
+        this.checkNearestBorder(x, y, threshold, y + threshold, false);
+
+        // Return
+        return this.mNearestPosition;
+    }
+
+    /**
+     * Get the number of points of the path approximation.
+     * The arc approximation is of 1 pixel and the points are calculated on demand.
+     * @return the points count
+     */
+    @Override
+    public int getApproximationCount() {
+        return this.mIsAnalytic ?
+                (int) Math.ceil(this.mArcLength): super.getApproximationCount();
+    }
+
+    /**
+     * Get the distance from the path start of a point of the path approximation.
+     * @param index the point index
+     * @return      the distance
+     */
+    @Override
+    public float getApproximationDistance(int index) {
+        // Check the case
+        if (!this.mIsAnalytic)
+            return super.getApproximationDistance(index);
+
+        // Proportional
+        return index * this.mArcLength / this.getApproximationCount();
+    }
+
+    /**
+     * Get the arc point at the passed distance.
+     * @param distance  the distance from the path start
+     * @param point     the array where will save the point info: x, y and angle in degrees
+     * @return          false if the arc is empty
+     */
+    @Override
+    public boolean getInterpolatedPoint(float distance, float[] point) {
+        // Check the case
+        if (!this.mIsAnalytic)
+            return super.getInterpolatedPoint(distance, point);
+
+        // Check for empty value
+        if (this.mArcLength == 0.0f)
+            return false;
+
+        // Pins the limits
+        if (distance < 0.0f) distance = 0.0f;
+        if (distance > this.mArcLength) distance = this.mArcLength;
+
+        // Find the point
+        point[2] = this.getArcPoint(distance, point);
+        return true;
+    }
+
+    /**
+     * Read a point of the path approximation.
+     * @param index the point index
+     * @param point the array where will save the point info: x, y and angle in degrees
+     */
+    @Override
+    public void getApproximationPoint(int index, float[] point) {
+        // Check the case
+        if (!this.mIsAnalytic) {
+            super.getApproximationPoint(index, point);
+            return;
+        }
+
+        // Find the point
+        point[2] = this.getArcPoint(this.getApproximationDistance(index), point);
+    }
+
+    /**
+     * Get a copy of the path points approximation of 1 pixel.
+     * @param destination the array where to copy the approximation, can be null
+     * @return the array holding the copy
+     */
+    @Override
+    public float[] copyApproximation(float[] destination) {
+        // Check the case
+        if (!this.mIsAnalytic)
+            return super.copyApproximation(destination);
+
+        // Check if the destination is usable
+        int count = this.getApproximationCount();
+        if (destination == null || destination.length < count * 3)
+            destination = new float[count * 3];
+
+        // Fill
+        float[] point = new float[3];
+        for (int index = 0; index < count; index ++) {
+            this.getApproximationPoint(index, point);
+            System.arraycopy(point, 0, destination, index * 3, 3);
+        }
+        return destination;
+    }
+
+    /**
+     * Get a path points approximation of 1 pixel.
+     * @return x, y and angle in degrees.
+     * @deprecated use getApproximationPoint or copyApproximation instead.
+     */
+    @Override
+    @SuppressWarnings({"unused"})
+    @Deprecated
+    public float[][] getApproximation() {
+        // Check the case
+        if (!this.mIsAnalytic)
+            return super.getApproximation();
+
+        // Create
+        float[][] points = new float[this.getApproximationCount()][];
+        for (int index = 0; index < points.length; index ++) {
+            points[index] = new float[3];
+            this.getApproximationPoint(index, points[index]);
+        }
+        return points;
+    }
+}
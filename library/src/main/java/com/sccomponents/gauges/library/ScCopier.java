@@ -12,6 +12,7 @@ import android.graphics.Shader;
 import android.os.Build;
 
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * Create a custom drawn copy of a given path.
@@ -28,6 +29,27 @@ import java.util.Arrays;
 @SuppressWarnings({"FieldMayBeFinal"})
 public class ScCopier extends ScFeature {
 
+    // ***************************************************************************************
+    // Constants
+
+    private static final int CHUNK_LENGTH = 64;
+
+    private static final List<String> COVER_PROPERTIES = Arrays.asList(
+            "paint", "position", "considerContours",
+            "widths", "widthsMode",
+            "startAt", "endTo"
+    );
+    private static final List<String> BAND_PROPERTIES = Arrays.asList(
+            "position", "considerContours",
+            "widths", "widthsMode"
+    );
+    private static final List<String> SHADER_PROPERTIES = Arrays.asList(
+            "paint", "position", "considerContours",
+            "colors", "colorsMode",
+            "widths", "widthsMode"
+    );
+
+
     // ***************************************************************************************
     // Private and protected variables
 
@@ -36,6 +58,11 @@ public class ScCopier extends ScFeature {
 
     private boolean mIsVisible;
     private Path mAreaPath;
+    private Path[] mChunks;
+    private Path mBodyPath;
+    private int mBodyFirstChunk;
+    private int mBodyLastChunk;
+    private Path mGenericPath;
 
     private BitmapShader mShader;
     private Paint mGenericPaint;
@@ -46,9 +73,10 @@ public class ScCopier extends ScFeature {
     private boolean mNeedToGetPathInfo;
     private boolean mNeedToRedrawShader;
     private boolean mNeedToRedrawCover;
+    private boolean mNeedToRedrawChunks;
 
-    private float[][] mPointsOutside;
-    private float[][] mPointsInside;
+    private float[] mPointsOutside;
+    private float[] mPointsInside;
 
 
     // ***************************************************************************************
@@ -66,6 +94,10 @@ public class ScCopier extends ScFeature {
         this.mWidths = new float[]{0.0f};
         this.mWidthsMode = WidthsMode.SMOOTH;
         this.mAreaPath = new Path();
+        this.mBodyPath = new Path();
+        this.mBodyFirstChunk = -1;
+        this.mBodyLastChunk = -1;
+        this.mGenericPath = new Path();
         this.mIsVisible = false;
 
         this.mGenericPoint = new float[2];
@@ -74,6 +106,7 @@ public class ScCopier extends ScFeature {
 
         this.mNeedToGetPathInfo = true;
         this.mNeedToRedrawCover = true;
+        this.mNeedToRedrawChunks = true;
         this.mNeedToRedrawShader = true;
 
         // Painter
@@ -135,38 +168,42 @@ public class ScCopier extends ScFeature {
     }
 
     /**
-     * Calculate all the points of the path.
-     * NOTE than this use an approximation about the path points.
+     * Calculate all the points of the path, one for each pixel.
+     * The points are requested in sequence so the path is walked only once.
      */
     private void calculatePoints() {
         // Init
         float length = this.getMeasure().getLength();
-        float[][] points = this.getMeasure().getApproximation();
+        int count = (int) Math.ceil(length);
 
-        this.mPointsOutside = new float[points.length][2];
-        this.mPointsInside = new float[points.length][2];
+        this.mPointsOutside = new float[count * 2];
+        this.mPointsInside = new float[count * 2];
 
-        // Cycle all points
-        for (int index = 0; index < points.length; index ++) {
-            // Holder
-            float[] outside = this.mPointsOutside[index];
-            float[] center = points[index];
-            float[] inside = this.mPointsInside[index];
+        // Holders
+        float[] center = new float[2];
+        float[] point = new float[2];
 
-            // Check the position and get the point info
+        // Cycle all points
+        for (int index = 0; index < count; index ++) {
+            // Check the position and get the point info.
+            // The parent method is used as the center will be fixed below.
             float distance = index > length ? length: index;
-            float angle = center[2];
+            float angle = super.getPointAndAngle(distance, center);
             float halfWidth = this.getWidth(distance) / 2;
 
             // Fix the center
             this.fixPoint(center, distance, angle);
 
             // Other points
-            this.clonePoint(center, outside);
-            this.movePoint(outside, halfWidth, angle - 90);
-
-            this.clonePoint(center, inside);
-            this.movePoint(inside, halfWidth, angle + 90);
+            this.clonePoint(center, point);
+            this.movePoint(point, halfWidth, angle - 90);
+            this.mPointsOutside[index * 2] = point[0];
+            this.mPointsOutside[index * 2 + 1] = point[1];
+
+            this.clonePoint(center, point);
+            this.movePoint(point, halfWidth, angle + 90);
+            this.mPointsInside[index * 2] = point[0];
+            this.mPointsInside[index * 2 + 1] = point[1];
         }
     }
 
@@ -191,11 +228,15 @@ public class ScCopier extends ScFeature {
             this.movePoint(this.mGenericPoint, halfWidth, angle + (90 * multiplier));
             return this.mGenericPoint;
 
-        } else
+        } else {
             // Take the point from the calculated points
-            return isReturn ?
-                    this.mPointsInside[(int) distance]:
-                    this.mPointsOutside[(int) distance];
+            float[] points = isReturn ? this.mPointsInside: this.mPointsOutside;
+            int index = (int) distance * 2;
+
+            this.mGenericPoint[0] = points[index];
+            this.mGenericPoint[1] = points[index + 1];
+            return this.mGenericPoint;
+        }
     }
 
     /**
@@ -224,10 +265,11 @@ public class ScCopier extends ScFeature {
 
     /**
      * Draw the border line on the path
+     * @param path the path where add the border
      * @param startFrom start distance
      * @param endTo end distance
      */
-    private void drawBorderPath(float startFrom, float endTo, boolean isRounded) {
+    private void drawBorderPath(Path path, float startFrom, float endTo, boolean isRounded) {
         // Holders
         boolean isReturn = startFrom > endTo;
         int fixedStart = (int)(isReturn ? Math.ceil(startFrom): Math.floor(startFrom));
@@ -250,10 +292,10 @@ public class ScCopier extends ScFeature {
             float[] point = this.getBorderPoint(fixedDistance, isFirst || isLast, isReturn);
 
             // Add to path
-            if (this.mAreaPath.isEmpty())
-                this.mAreaPath.moveTo(point[0], point[1]);
+            if (path.isEmpty())
+                path.moveTo(point[0], point[1]);
             else
-                this.mAreaPath.lineTo(point[0], point[1]);
+                path.lineTo(point[0], point[1]);
 
             // Update the distance
             distance += increment;
@@ -261,7 +303,71 @@ public class ScCopier extends ScFeature {
 
         // Close with an arc if is rounded
         if (isRounded)
-            this.addArcToPath(this.mAreaPath, isReturn, endTo);
+            this.addArcToPath(path, isReturn, endTo);
+    }
+
+    /**
+     * Get the last point index of the calculated points.
+     * @return the index
+     */
+    private int getLastPointIndex() {
+        return this.mPointsInside.length / 2 - 1;
+    }
+
+    /**
+     * Divide the whole band in chunks of fixed length and create a closed path for each one.
+     * Every chunk overlap the next one by one point for avoid gaps between them.
+     */
+    private void fillChunks() {
+        // Holders
+        int last = this.getLastPointIndex();
+        int count = last > 0 ? (int) Math.ceil((float) last / ScCopier.CHUNK_LENGTH): 0;
+        this.mChunks = new Path[count];
+
+        // Cycle all chunks
+        for (int chunk = 0; chunk < count; chunk ++) {
+            // Find the limits
+            int start = chunk * ScCopier.CHUNK_LENGTH;
+            int end = Math.min(start + ScCopier.CHUNK_LENGTH + 1, last);
+
+            // Go on the outside border and back on the inside border
+            Path path = new Path();
+            path.moveTo(this.mPointsOutside[start * 2], this.mPointsOutside[start * 2 + 1]);
+            for (int index = start + 1; index <= end; index ++)
+                path.lineTo(this.mPointsOutside[index * 2], this.mPointsOutside[index * 2 + 1]);
+            for (int index = end; index >= start; index --)
+                path.lineTo(this.mPointsInside[index * 2], this.mPointsInside[index * 2 + 1]);
+
+            // Close the path
+            path.close();
+            this.mChunks[chunk] = path;
+        }
+
+        // The joined chunks are not valid anymore
+        this.mBodyPath.rewind();
+        this.mBodyFirstChunk = -1;
+        this.mBodyLastChunk = -1;
+    }
+
+    /**
+     * Join the cached chunks between the passed indexes in the body path.
+     * If the first chunk not change and the last chunk grow only the missing chunks are added
+     * else the body is joined again from the first chunk.
+     * @param firstChunk    the first chunk index
+     * @param lastChunk     the last chunk index
+     */
+    private void updateBodyPath(int firstChunk, int lastChunk) {
+        // Check if the current body can be grown
+        if (this.mBodyFirstChunk != firstChunk || this.mBodyLastChunk > lastChunk) {
+            this.mBodyPath.rewind();
+            this.mBodyFirstChunk = firstChunk;
+            this.mBodyLastChunk = firstChunk - 1;
+        }
+
+        // Add the missing chunks
+        for (int chunk = this.mBodyLastChunk + 1; chunk <= lastChunk; chunk ++)
+            this.mBodyPath.addPath(this.mChunks[chunk]);
+        this.mBodyLastChunk = lastChunk;
     }
 
     /**
@@ -290,16 +396,50 @@ public class ScCopier extends ScFeature {
 
         // Reset the old path
         this.mAreaPath.reset();
-
-        // Create the path
-        if (startFrom < endTo) {
+        if (startFrom >= endTo)
+            return;
+
+        // Find the chunks fully inside the limits considering the overlapping point too
+        int chunks = this.mChunks.length;
+        int last = this.getLastPointIndex();
+        int firstChunk = (int) Math.ceil(startFrom / ScCopier.CHUNK_LENGTH);
+        int lastChunk = endTo >= last ?
+                chunks - 1: (int) Math.floor((endTo - 1) / ScCopier.CHUNK_LENGTH) - 1;
+
+        // If no chunks inside create the path point by point
+        if (firstChunk > lastChunk) {
             // Go and back
-            this.drawBorderPath(startFrom, endTo, isRounded);
-            this.drawBorderPath(endTo, startFrom, isRounded);
+            this.drawBorderPath(this.mAreaPath, startFrom, endTo, isRounded);
+            this.drawBorderPath(this.mAreaPath, endTo, startFrom, isRounded);
 
             // Close the path
             this.mAreaPath.close();
+            return;
         }
+
+        // The cached chunks.
+        // Usually the end limit move forward so only the new chunks are joined to the body but
+        // the body is copied in the cover path every time: this copy still grow with the band
+        // length while the head and the tail are bounded by two chunks lengths.
+        this.updateBodyPath(firstChunk, lastChunk);
+        this.mAreaPath.set(this.mBodyPath);
+
+        // The head from the start to the first chunk overlapping it by one point
+        float headEnd = Math.min(firstChunk * ScCopier.CHUNK_LENGTH + 1, endTo);
+        this.mGenericPath.reset();
+        this.drawBorderPath(this.mGenericPath, startFrom, headEnd, false);
+        this.drawBorderPath(this.mGenericPath, headEnd, startFrom, isRounded);
+        this.mGenericPath.close();
+        this.mAreaPath.addPath(this.mGenericPath);
+
+        // The tail from the last chunk to the end overlapping it by one point
+        int lastChunkEnd = Math.min((lastChunk + 1) * ScCopier.CHUNK_LENGTH, last);
+        float tailStart = Math.max(lastChunkEnd - 1, startFrom);
+        this.mGenericPath.reset();
+        this.drawBorderPath(this.mGenericPath, tailStart, endTo, isRounded);
+        this.drawBorderPath(this.mGenericPath, endTo, tailStart, false);
+        this.mGenericPath.close();
+        this.mAreaPath.addPath(this.mGenericPath);
     }
 
     /**
@@ -310,8 +450,7 @@ public class ScCopier extends ScFeature {
      */
     private Bitmap createBitmap(int canvasWidth, int canvasHeight) {
         // Holders
-        float[][] points = this.getMeasure().getApproximation();
-        float length = points.length;
+        float length = this.mPointsInside.length / 2;
 
         // If the path is closed could happen than the first point is equal to the last.
         // Need to avoid this situation.
@@ -330,8 +469,8 @@ public class ScCopier extends ScFeature {
 
             // Draw a line between the points
             this.mGenericCanvas.drawLine(
-                    this.mPointsInside[index][0], this.mPointsInside[index][1],
-                    this.mPointsOutside[index][0], this.mPointsOutside[index][1],
+                    this.mPointsInside[index * 2], this.mPointsInside[index * 2 + 1],
+                    this.mPointsOutside[index * 2], this.mPointsOutside[index * 2 + 1],
                     this.mGenericPaint
             );
         }
@@ -369,9 +508,17 @@ public class ScCopier extends ScFeature {
         // Need to get path information
         if (this.mNeedToGetPathInfo) {
             this.mNeedToGetPathInfo = false;
+            this.mNeedToRedrawChunks = true;
             this.calculatePoints();
         }
 
+        // Check for re-chunk the whole band
+        if (this.mNeedToRedrawChunks) {
+            this.mNeedToRedrawChunks = false;
+            this.mNeedToRedrawCover = true;
+            this.fillChunks();
+        }
+
         // Check for re-path
         if (this.mNeedToRedrawCover) {
             // Calculate all the path points and create the path
@@ -529,6 +676,21 @@ public class ScCopier extends ScFeature {
         this.internalDraw(canvas, info);
     }
 
+    /**
+     * Get the max distance from the path that the band can reach.
+     * Whatever is the position the band never go over its max width from the path.
+     * @return the distance
+     */
+    @Override
+    protected float getDrawingExtent() {
+        // Find the max width
+        float extent = 0.0f;
+        if (this.mWidths != null)
+            for (float width : this.mWidths)
+                extent = Math.max(extent, width);
+        return extent;
+    }
+
     /**
      * Implement a copy of this object
      * @param destination the destination object
@@ -556,21 +718,16 @@ public class ScCopier extends ScFeature {
     @Override
     protected void onPropertyChange(String name, Object value) {
         // Consider to redraw the cover
-        String[] coverProps = new String[] {
-                "paint", "position", "considerContours",
-                "widths", "widthsMode",
-                "startAt", "endTo"
-        };
-        if (Arrays.asList(coverProps).contains(name))
+        if (ScCopier.COVER_PROPERTIES.contains(name))
             this.mNeedToRedrawCover = true;
 
+        // Consider to recalculate the band points and chunks.
+        // Moving only the limits not need to change the chunks.
+        if (ScCopier.BAND_PROPERTIES.contains(name))
+            this.mNeedToGetPathInfo = true;
+
         // Consider to redraw the shader
-        String[] shaderProps = new String[] {
-                "paint", "position", "considerContours",
-                "colors", "colorsMode",
-                "widths", "widthsMode"
-        };
-        if (Arrays.asList(shaderProps).contains(name))
+        if (ScCopier.SHADER_PROPERTIES.contains(name))
             this.mNeedToRedrawShader = true;
 
         // Check the visibility
@@ -588,6 +745,7 @@ public class ScCopier extends ScFeature {
     @SuppressWarnings("unused")
     public void refresh() {
         this.mNeedToGetPathInfo = true;
+        this.mNeedToRedrawChunks = true;
         this.mNeedToRedrawShader = true;
         this.mNeedToRedrawCover = true;
         super.refresh();
@@ -2,10 +2,13 @@ package com.sccomponents.gauges.library;
 
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Color;
 import android.graphics.Matrix;
 import android.graphics.Path;
 import android.graphics.PointF;
+import android.graphics.Rect;
 import android.graphics.RectF;
 import android.os.Bundle;
 import android.os.Parcelable;
@@ -16,7 +19,11 @@ import android.view.View;
 import android.view.ViewGroup;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
@@ -49,6 +56,13 @@ import java.util.List;
  */
 public abstract class ScDrawer extends ScBase {
 
+    // ***************************************************************************************
+    // Constants
+
+    // The worker where the geometries are measured in sequence
+    private static final ExecutorService GEOMETRY_EXECUTOR = Executors.newSingleThreadExecutor();
+
+
     // ***************************************************************************************
     // Enumerators
 
@@ -79,7 +93,7 @@ public abstract class ScDrawer extends ScBase {
     /** @hide */
     protected Path mPath;
     /** @hide */
-    protected ScPathMeasure mPathMeasure;
+    protected ScGeometry mPathMeasure;
 
     /** @hide */
     protected RectF mDrawArea;
@@ -97,13 +111,51 @@ public abstract class ScDrawer extends ScBase {
     private int mMaximumWidth;
     private int mMaximumHeight;
 
-    private Path mCopyPath;
     private Matrix mMatrix;
+    private int mPathRevision;
+
+    // Drawing geometry
+    private ScGeometry mDrawGeometry;
+    private AtomicInteger mDrawGeometryGeneration;
+    private int mDrawPathRevision;
+    private FillingMode mDrawFillingMode;
+    private float mDrawScaleX;
+    private float mDrawScaleY;
+    private float mDrawOffsetX;
+    private float mDrawOffsetY;
+    private float mDrawTolerance;
 
     private boolean mRecognizePathTouch;
     private float mPathTouchThreshold;
     private boolean mPathIsTouched;
     private boolean mDoubleBuffering;
+    private boolean mSharedBuffering;
+    private boolean mDisplayListCaching;
+    private float mPathTolerance;
+
+    // Asynchronous geometry
+    private boolean mAsyncGeometry;
+    private AtomicInteger mGeometryGeneration;
+    private Object mPathInputs;
+    private Object mPendingPathInputs;
+    private int mPathRequest;
+
+    // Shared geometry
+    private boolean mShareGeometry;
+    private Object mGeometryKey;
+    private boolean mGeometryShared;
+    private boolean mGeometryAcquired;
+    private boolean mIsAttached;
+
+    // Shared layer of the static features
+    private Bitmap mSharedBuffer;
+    private Rect mSharedArea;
+    private Rect mSharedNewArea;
+    private Rect mSharedFeatureArea;
+    private Canvas mSharedCanvas;
+    private ScFeature[] mSharedFeatures;
+    private int[] mSharedRevisions;
+    private int mSharedCount;
 
     private OnPathTouchListener mOnPathTouchListener;
 
@@ -143,6 +195,50 @@ public abstract class ScDrawer extends ScBase {
     protected abstract Path createPath(int width, int height);
 
 
+    // ***************************************************************************************
+    // Protected methods
+
+    /**
+     * Create the geometry engine that will measure the path to draw.
+     * Override this method for use an engine specialized on the path created by the
+     * createPath method.
+     * @return  the new geometry engine
+     */
+    @SuppressWarnings("unused")
+    protected ScGeometry createGeometry() {
+        return new ScPathMeasure();
+    }
+
+    /**
+     * Get the key that identify the path created with the passed dimensions.
+     * The drawers that return the same key will share the same geometry so the key must
+     * contain all the parameters used by the createPath and the createGeometry methods.
+     * Override this method for share the geometry between identical drawers.
+     * The key is used for share the geometry only if the geometry sharing is enabled and the
+     * component is attached to a window. In any case the key is used for know if the path must
+     * be created again.
+     * @param width     the drawing area width
+     * @param height    the drawing area height
+     * @return          the key or null if the geometry cannot be shared
+     */
+    @SuppressWarnings("unused")
+    protected Object getGeometryKey(int width, int height) {
+        return null;
+    }
+
+    /**
+     * Force to create again the path at the next measure.
+     * The path is created again only when its inputs change: the geometry key, or the
+     * dimensions when the key is not defined. The drawers that create the path using other
+     * settings must call this method when these settings change.
+     */
+    @SuppressWarnings("unused")
+    protected void invalidatePath() {
+        this.mPathRequest ++;
+        this.requestLayout();
+    }
+
+
     // ***************************************************************************************
     // Privates methods
 
@@ -196,10 +292,26 @@ public abstract class ScDrawer extends ScBase {
         // INTERNAL
 
         this.checkValues();
-        this.mPathMeasure = new ScPathMeasure();
-        this.mCopyPath = new Path();
+        this.mPathMeasure = this.createGeometry();
         this.mMatrix = new Matrix();
         this.mDoubleBuffering = true;
+        this.mSharedBuffering = false;
+        this.mDisplayListCaching = false;
+        this.mPathTolerance = 0.0f;
+        this.mAsyncGeometry = false;
+        this.mGeometryGeneration = new AtomicInteger(0);
+        this.mDrawGeometryGeneration = new AtomicInteger(0);
+        this.mPathInputs = null;
+        this.mPendingPathInputs = null;
+        this.mPathRequest = 0;
+        this.mShareGeometry = false;
+        this.mGeometryShared = false;
+        this.mGeometryAcquired = false;
+        this.mIsAttached = false;
+        this.mSharedCanvas = new Canvas();
+        this.mSharedArea = new Rect();
+        this.mSharedNewArea = new Rect();
+        this.mSharedFeatureArea = new Rect();
     }
 
     /**
@@ -330,19 +442,456 @@ public abstract class ScDrawer extends ScBase {
     }
 
     /**
-     * Draw all the features
+     * Measure the path on the geometry worker.
+     * A new geometry engine is created and measured by the worker and will be published on
+     * the UI thread only if, in the meantime, was not requested a newer geometry.
+     * @param path      the path to measure
+     * @param inputs    the inputs used to create the path
+     */
+    private void prepareGeometry(final Path path, final Object inputs) {
+        // Holders
+        final int generation = this.mGeometryGeneration.incrementAndGet();
+        final ScGeometry geometry = this.createGeometry();
+
+        // Measure on the worker
+        ScDrawer.GEOMETRY_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                // Skip if already outdated
+                if (generation != mGeometryGeneration.get())
+                    return;
+
+                // Measure, calculate all the derived structures and publish
+                geometry.setPath(path, false);
+                geometry.prepare();
+                post(new Runnable() {
+                    @Override
+                    public void run() {
+                        publishGeometry(generation, geometry, path, inputs);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Publish the geometry measured on the worker.
+     * Must be called on the UI thread.
+     * @param generation    the generation of the geometry
+     * @param geometry      the measured geometry
+     * @param path          the measured path
+     * @param inputs        the inputs used to create the path
+     */
+    private void publishGeometry(
+            int generation, ScGeometry geometry, Path path, Object inputs) {
+        // Check if outdated
+        if (generation != this.mGeometryGeneration.get())
+            return;
+
+        // Replace the current geometry
+        this.mPath = path;
+        this.mPathRevision ++;
+        this.mPathMeasure = geometry;
+        this.mPathInputs = inputs;
+        this.mPendingPathInputs = null;
+
+        // The path is changed so the areas and the drawing geometry must be calculated
+        // again considering the new path bounds.
+        this.requestLayout();
+        this.invalidate();
+    }
+
+    /**
+     * Get the inputs used to create the path with the passed dimensions.
+     * Two equals inputs will create the same path.
+     * @param width     the drawing area width
+     * @param height    the drawing area height
+     * @return          the inputs
+     */
+    private Object getPathInputs(int width, int height) {
+        // Use the geometry key if defined else the dimensions
+        Object key = this.getGeometryKey(width, height);
+        return Arrays.asList(
+                key != null ? key: Arrays.asList(width, height),
+                this.mPathRequest
+        );
+    }
+
+    /**
+     * Release the geometry shared with the identical drawers.
+     * The shared geometry cannot be changed so will be replaced by a new one.
+     */
+    private void releaseGeometry() {
+        // Release the reference
+        if (this.mGeometryAcquired)
+            ScGeometryCache.release(this.mGeometryKey);
+        this.mGeometryKey = null;
+        this.mGeometryAcquired = false;
+
+        // Replace the geometry
+        if (this.mGeometryShared) {
+            this.mPathMeasure = this.createGeometry();
+            this.mPathRevision ++;
+            this.mPathInputs = null;
+            this.mGeometryShared = false;
+        }
+    }
+
+    /**
+     * Update the geometry sharing it with the identical drawers.
+     * If not already shared the path will be created and measured directly.
+     * @param key       the geometry key
+     * @param width     the drawing area width
+     * @param height    the drawing area height
+     */
+    private void updateSharedGeometry(Object key, int width, int height) {
+        // Check if the geometry is already shared by another drawer
+        ScGeometry geometry = ScGeometryCache.acquire(key);
+        if (geometry == null) {
+            // Create a new geometry as the createPath could need to prepare it
+            this.releaseGeometry();
+            Path path = this.createPath(width, height);
+            this.mPathMeasure.setPath(path, false);
+            geometry = ScGeometryCache.put(key, this.mPathMeasure);
+
+        } else {
+            // Release the current one
+            this.releaseGeometry();
+        }
+
+        // Use the shared geometry
+        this.mGeometryKey = key;
+        this.mGeometryShared = true;
+        this.mGeometryAcquired = true;
+        this.mPathMeasure = geometry;
+        this.mPath = geometry.getPath();
+        this.mPathRevision ++;
+    }
+
+    /**
+     * Update the geometry measuring the path where the features draw.
+     * In the DRAW mode the drawing path is a copy of the original path scaled and moved on
+     * the view while in the STRETCH mode the copy is only moved as the canvas will be scaled.
+     * The geometry is created again only if the drawing path changed from the last time and,
+     * if the drawing path is the original one, the path geometry will be used directly.
+     * If the asynchronous geometry is enabled the drawing path will be measured on the
+     * geometry worker.
+     */
+    private void updateDrawGeometry() {
+        // Check for empty values
+        if (this.mPath == null || this.mVirtualArea == null || this.mAreaScale == null)
+            return ;
+
+        // Find the drawing path transformation
+        boolean isStretch = this.mFillingMode == FillingMode.STRETCH;
+        float scaleX = isStretch ? 1.0f: this.mAreaScale.x;
+        float scaleY = isStretch ? 1.0f: this.mAreaScale.y;
+        float offsetX = this.mVirtualArea.left + this.getPaddingLeft();
+        float offsetY = this.mVirtualArea.top + this.getPaddingTop();
+        if (isStretch) {
+            offsetX /= this.mAreaScale.x;
+            offsetY /= this.mAreaScale.y;
+        }
+
+        // Check if the drawing path is changed
+        if (this.mDrawGeometry != null && this.mDrawPathRevision == this.mPathRevision &&
+                this.mDrawFillingMode == this.mFillingMode &&
+                this.mDrawScaleX == scaleX && this.mDrawScaleY == scaleY &&
+                this.mDrawOffsetX == offsetX && this.mDrawOffsetY == offsetY &&
+                this.mDrawTolerance == this.mPathTolerance)
+            return ;
+
+        // Store the settings
+        this.mDrawPathRevision = this.mPathRevision;
+        this.mDrawFillingMode = this.mFillingMode;
+        this.mDrawScaleX = scaleX;
+        this.mDrawScaleY = scaleY;
+        this.mDrawOffsetX = offsetX;
+        this.mDrawOffsetY = offsetY;
+        this.mDrawTolerance = this.mPathTolerance;
+
+        // If the drawing path is the original one the path geometry is already measured.
+        // The path geometry is always approximated by pixel.
+        if (scaleX == 1.0f && scaleY == 1.0f && offsetX == 0.0f && offsetY == 0.0f &&
+                this.mPathTolerance == 0.0f && this.mPathMeasure.getPath() == this.mPath) {
+            // Discard the pending geometries
+            this.mDrawGeometryGeneration.incrementAndGet();
+            this.setDrawGeometry(this.mPathMeasure);
+            return ;
+        }
+
+        // A circle scaled uniformly is still a circle so, if the path geometry is measured by
+        // the arc equations, the drawing geometry can be measured by the equations too.
+        if (scaleX == scaleY && this.mPathMeasure instanceof ScArcMeasure &&
+                ((ScArcMeasure) this.mPathMeasure).isAnalytic() &&
+                this.mPathMeasure.getPath() == this.mPath) {
+            // Map the arc
+            ScGeometry geometry = this.createDrawGeometry();
+            if (geometry instanceof ScArcMeasure && ((ScArcMeasure) geometry)
+                    .setArc((ScArcMeasure) this.mPathMeasure, scaleX, offsetX, offsetY) != null) {
+                // Discard the pending geometries
+                this.mDrawGeometryGeneration.incrementAndGet();
+                this.setDrawGeometry(geometry);
+                return ;
+            }
+        }
+
+        // Create a copy of the original path because need to move the offset or scale the
+        // path and not want lost the original one values.
+        Path path = new Path(this.mPath);
+        this.scalePath(path, scaleX, scaleY);
+        path.offset(offsetX, offsetY);
+
+        // Measure the drawing path
+        if (this.mAsyncGeometry) {
+            // In background keeping drawing the current geometry
+            this.prepareDrawGeometry(path);
+
+        } else {
+            // Discard the pending geometries and measure directly
+            this.mDrawGeometryGeneration.incrementAndGet();
+            ScGeometry geometry = this.createDrawGeometry();
+            geometry.setPath(path, false);
+            this.setDrawGeometry(geometry);
+        }
+    }
+
+    /**
+     * Create the geometry engine for the drawing path applying the path tolerance.
+     * @return the new geometry engine
+     */
+    private ScGeometry createDrawGeometry() {
+        // Create and set the points approximation
+        ScGeometry geometry = this.createGeometry();
+        if (geometry instanceof ScPathMeasure)
+            ((ScPathMeasure) geometry).setTolerance(this.mPathTolerance);
+        return geometry;
+    }
+
+    /**
+     * Measure the drawing path on the geometry worker.
+     * The geometry will be published on the UI thread only if, in the meantime, was not
+     * requested a newer drawing geometry.
+     * @param path the drawing path to measure
+     */
+    private void prepareDrawGeometry(final Path path) {
+        // Holders
+        final int generation = this.mDrawGeometryGeneration.incrementAndGet();
+        final ScGeometry geometry = this.createDrawGeometry();
+
+        // Measure on the worker
+        ScDrawer.GEOMETRY_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                // Skip if already outdated
+                if (generation != mDrawGeometryGeneration.get())
+                    return;
+
+                // Measure, calculate all the derived structures and publish
+                geometry.setPath(path, false);
+                geometry.prepare();
+                post(new Runnable() {
+                    @Override
+                    public void run() {
+                        // Check if outdated
+                        if (generation == mDrawGeometryGeneration.get())
+                            setDrawGeometry(geometry);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Set the geometry measuring the path where the features draw.
+     * @param geometry the geometry
+     */
+    private void setDrawGeometry(ScGeometry geometry) {
+        // Store
+        this.mDrawGeometry = geometry;
+
+        // The features must calculate again the info related to the path
+        this.forceRedrawFeatures();
+        this.invalidate();
+    }
+
+    /**
+     * Free the shared layer memory.
+     */
+    private void freeSharedLayer() {
+        // Free memory
+        if (this.mSharedBuffer != null)
+            this.mSharedBuffer.recycle();
+
+        this.mSharedBuffer = null;
+        this.mSharedCount = 0;
+    }
+
+    /**
+     * Find the canvas area covered by all the static features.
+     * If the drawing area of some feature is unknown will be used the whole canvas.
+     * @param canvas    the canvas where draw
+     * @param path      the path to draw
+     * @param matrix    the matrix to apply
+     * @param area      where to save the area
+     */
+    private void getSharedArea(Canvas canvas, Path path, Matrix matrix, Rect area) {
+        // Cycle all the static features
+        area.setEmpty();
+        for (ScFeature feature : this.mFeatures)
+            if (feature != null && feature.getDoubleBuffering()) {
+                // Check for unknown area
+                if (!feature.getDrawingArea(canvas, path, matrix, this.mSharedFeatureArea)) {
+                    area.set(0, 0, canvas.getWidth(), canvas.getHeight());
+                    return;
+                }
+
+                // Add the feature area
+                area.union(this.mSharedFeatureArea);
+            }
+    }
+
+    /**
+     * Draw the static features (the ones that use the double buffering) on the shared layer
+     * and draw the layer on the canvas.
+     * The layer cover only the area where the static features draw and it will be redrawn
+     * only if some static feature changed from the last draw.
+     * @param canvas    the canvas where draw
+     * @param path      the path to draw
+     * @param matrix    the matrix to apply
+     * @return          false if the layer is not available
+     */
+    private boolean drawSharedLayer(Canvas canvas, Path path, Matrix matrix) {
+        // Find the area to cover
+        Rect area = this.mSharedNewArea;
+        this.getSharedArea(canvas, path, matrix, area);
+        if (area.isEmpty())
+            area.set(0, 0, 1, 1);
+
+        // Check if the area is moved
+        boolean redraw = false;
+        if (area.left != this.mSharedArea.left || area.top != this.mSharedArea.top)
+            redraw = true;
+
+        // Check if need to create the layer
+        if (this.mSharedBuffer == null ||
+                this.mSharedBuffer.getWidth() != area.width() ||
+                this.mSharedBuffer.getHeight() != area.height()) {
+            // Free the old one
+            this.freeSharedLayer();
+
+            // Try to allocate the bitmap
+            try {
+                this.mSharedBuffer = Bitmap.createBitmap(
+                        area.width(),
+                        area.height(),
+                        Bitmap.Config.ARGB_8888
+                );
+
+            } catch (Exception ex) {
+                Log.d("ScDrawer", "drawSharedLayer: no memory");
+                return false;
+            }
+
+            // Set the layer canvas
+            this.mSharedCanvas.setBitmap(this.mSharedBuffer);
+            redraw = true;
+        }
+        this.mSharedArea.set(area);
+
+        // Check if the static features are changed from the last draw
+        int count = 0;
+        for (ScFeature feature : this.mFeatures)
+            if (feature != null && feature.getDoubleBuffering()) {
+                // Compare
+                if (count >= this.mSharedCount ||
+                        this.mSharedFeatures[count] != feature ||
+                        this.mSharedRevisions[count] != feature.getRevision())
+                    redraw = true;
+                count ++;
+            }
+        if (count != this.mSharedCount)
+            redraw = true;
+
+        // Redraw the layer only if needed
+        if (redraw) {
+            // Check the holders capacity
+            if (this.mSharedFeatures == null || this.mSharedFeatures.length < count) {
+                this.mSharedFeatures = new ScFeature[count];
+                this.mSharedRevisions = new int[count];
+            }
+
+            // Clear the layer and move the drawing on the layer area
+            this.mSharedBuffer.eraseColor(Color.TRANSPARENT);
+            this.mSharedCanvas.setMatrix(null);
+            this.mSharedCanvas.translate(-this.mSharedArea.left, -this.mSharedArea.top);
+
+            // Draw all the static features in sequence
+            int index = 0;
+            for (ScFeature feature : this.mFeatures)
+                if (feature != null && feature.getDoubleBuffering()) {
+                    // Draw and store the drawn revision
+                    feature.draw(this.mSharedCanvas, this.mDrawGeometry, matrix);
+                    this.mSharedFeatures[index] = feature;
+                    this.mSharedRevisions[index] = feature.getRevision();
+                    index ++;
+                }
+            this.mSharedCount = count;
+        }
+
+        // Draw the layer
+        canvas.drawBitmap(
+                this.mSharedBuffer, this.mSharedArea.left, this.mSharedArea.top, null);
+        return true;
+    }
+
+    /**
+     * Draw all the features on the drawing path.
+     * The drawing path is measured only once for all the features and changed only by a
+     * new layout.
      * @param canvas the canvas where draw
+     * @param matrix the matrix to apply
      */
-    private void drawFeatures(Canvas canvas, Path path, Matrix matrix) {
+    private void drawFeatures(Canvas canvas, Matrix matrix) {
         // Check for empty values
-        if (this.mFeatures != null) {
+        if (this.mFeatures != null && this.mDrawGeometry != null) {
+            // Holders
+            Path path = this.mDrawGeometry.getPath();
+
+            // Cycle all features and propagate the buffering settings and the geometry
+            for (ScFeature feature : this.mFeatures)
+                // Check for empty value
+                if (feature != null) {
+                    feature.setDoubleBuffering(this.mDoubleBuffering);
+                    feature.setSharedLayer(this.mSharedBuffering);
+                    feature.setDisplayListCaching(this.mDisplayListCaching);
+                    feature.borrowGeometry(this.mDrawGeometry);
+                }
+
+            // Holders
+            boolean sharedChecked = false;
+            boolean sharedDrawn = false;
+
             // Cycle all features
             for (ScFeature feature : this.mFeatures)
                 // Check for empty value
                 if (feature != null) {
+                    // The static features are drawn all together on the shared layer in
+                    // place of the first one.
+                    if (this.mSharedBuffering && feature.getDoubleBuffering()) {
+                        // Draw the layer only once
+                        if (!sharedChecked) {
+                            sharedChecked = true;
+                            sharedDrawn = this.drawSharedLayer(canvas, path, matrix);
+                        }
+
+                        // If the layer is not available the feature will be drawn directly
+                        if (sharedDrawn)
+                            continue;
+                    }
+
                     //Call the draw methods.
-                    feature.setDoubleBuffering(this.mDoubleBuffering);
-                    feature.draw(canvas, path, matrix);
+                    feature.draw(canvas, this.mDrawGeometry, matrix);
                 }
         }
     }
@@ -352,17 +901,8 @@ public abstract class ScDrawer extends ScBase {
      * @param canvas    the canvas where draw
      */
     private void setForDraw(Canvas canvas) {
-        // Create a copy of the original path because need to move the offset or scale the
-        // path and not want lost the original one values.
-        this.mCopyPath.set(this.mPath);
-        this.scalePath(this.mCopyPath, this.mAreaScale.x, this.mAreaScale.y);
-        this.mCopyPath.offset(
-            this.mVirtualArea.left + this.getPaddingLeft(),
-            this.mVirtualArea.top + this.getPaddingTop()
-        );
-
-        // Draw the features
-        this.drawFeatures(canvas, this.mCopyPath, null);
+        // The drawing path is already scaled and moved
+        this.drawFeatures(canvas, null);
     }
 
     /**
@@ -374,16 +914,28 @@ public abstract class ScDrawer extends ScBase {
         this.mMatrix.reset();
         this.mMatrix.postScale(this.mAreaScale.x, this.mAreaScale.y);
 
-        // Create a copy of the original path because need to move the offset or scale the
-        // path and not want lost the original one values.
-        this.mCopyPath.set(this.mPath);
-        this.mCopyPath.offset(
-                (this.mVirtualArea.left + this.getPaddingLeft()) / this.mAreaScale.x,
-                (this.mVirtualArea.top + this.getPaddingTop()) / this.mAreaScale.y
-        );
+        // Draw all features on the drawing path already moved
+        this.drawFeatures(canvas, this.mMatrix);
+    }
 
-        // Draw all features
-        this.drawFeatures(canvas, this.mCopyPath, this.mMatrix);
+    /**
+     * Map a rectangle from the space where the features draw to the view space.
+     * In the DRAW mode the path is already moved on the view while in the STRETCH mode the
+     * path is scaled by the canvas.
+     * @param rect the rectangle to map
+     */
+    protected void mapFeaturesRect(RectF rect) {
+        // Check for empty values
+        if (this.mAreaScale == null || this.mFillingMode != FillingMode.STRETCH)
+            return ;
+
+        // Scale
+        rect.set(
+                rect.left * this.mAreaScale.x,
+                rect.top * this.mAreaScale.y,
+                rect.right * this.mAreaScale.x,
+                rect.bottom * this.mAreaScale.y
+        );
     }
 
 
@@ -417,6 +969,51 @@ public abstract class ScDrawer extends ScBase {
         }
     }
 
+    /**
+     * Acquire again the shared geometry kept while detached.
+     * If in the meantime another drawer stored a geometry with the same key, it will be
+     * used in place of the current one.
+     * @hide
+     */
+    @Override
+    protected void onAttachedToWindow() {
+        // Super
+        super.onAttachedToWindow();
+        this.mIsAttached = true;
+
+        // Check if have a shared geometry to acquire
+        if (this.mGeometryKey == null || this.mGeometryAcquired)
+            return ;
+
+        // Acquire the reference
+        ScGeometry geometry = ScGeometryCache.put(this.mGeometryKey, this.mPathMeasure);
+        this.mGeometryAcquired = true;
+
+        // The geometries with the same key measure the same path
+        if (geometry != this.mPathMeasure) {
+            this.mPathMeasure = geometry;
+            this.mPath = geometry.getPath();
+        }
+    }
+
+    /**
+     * Release the reference to the shared geometry when detached.
+     * The geometry is kept for drawing and will be acquired again when attached.
+     * @hide
+     */
+    @Override
+    protected void onDetachedFromWindow() {
+        // Super
+        super.onDetachedFromWindow();
+        this.mIsAttached = false;
+
+        // Release the reference
+        if (this.mGeometryAcquired) {
+            ScGeometryCache.release(this.mGeometryKey);
+            this.mGeometryAcquired = false;
+        }
+    }
+
     /**
      * On measure
      * @param widthMeasureSpec      the reference width
@@ -433,15 +1030,61 @@ public abstract class ScDrawer extends ScBase {
         int width = View.getDefaultSize(this.getSuggestedMinimumWidth(), widthMeasureSpec);
         int height = View.getDefaultSize(this.getSuggestedMinimumHeight(), heightMeasureSpec);
 
-        // Force to re-create the path passing the real dimensions to draw and get the measurer
-        this.mPath = this.createPath(width - widthGlobalPadding, height - heightGlobalPadding);
-        this.mPathMeasure.setPath(this.mPath, false);
+        // Force to re-create the path passing the real dimensions to draw and get the measurer.
+        int pathWidth = width - widthGlobalPadding;
+        int pathHeight = height - heightGlobalPadding;
+        Object inputs = this.getPathInputs(pathWidth, pathHeight);
+        Object key = this.mShareGeometry && this.mIsAttached ?
+                this.getGeometryKey(pathWidth, pathHeight): null;
+        if (key != null) {
+            // Identical drawers share the same geometry measured directly
+            if (!key.equals(this.mGeometryKey)) {
+                // Discard the pending geometries
+                this.mGeometryGeneration.incrementAndGet();
+                this.mPendingPathInputs = null;
+                this.updateSharedGeometry(key, pathWidth, pathHeight);
+                this.mPathInputs = inputs;
+            }
 
-        // The path could be changed so I must force the features to refresh the path info.
-        this.forceRedrawFeatures();
+        } else if (!inputs.equals(this.mPathInputs) && !inputs.equals(this.mPendingPathInputs)) {
+            // The parent can measure many times for each layout so a new path is created only
+            // if its inputs differ from the current and the pending geometry. In this way the
+            // path revision change only when the path change and the drawing geometry and the
+            // features will not be updated again for nothing.
+            // The shared geometry cannot be changed
+            this.releaseGeometry();
+
+            // Create the path
+            Path path = this.createPath(pathWidth, pathHeight);
+
+            // If the geometry engine already measured the path, as when use the equations,
+            // there is nothing to do in background.
+            if (!this.mAsyncGeometry || this.mPathMeasure.getPath() == path) {
+                // Discard the pending geometries
+                this.mGeometryGeneration.incrementAndGet();
+                this.mPendingPathInputs = null;
+                this.mPath = path;
+                this.mPathRevision ++;
+                this.mPathMeasure.setPath(this.mPath, false);
+                this.mPathInputs = inputs;
+
+            } else {
+                // Measure in background and keep drawing the current geometry
+                this.mPendingPathInputs = inputs;
+                this.prepareGeometry(path, inputs);
+            }
+
+        } else if (inputs.equals(this.mPathInputs) && this.mPendingPathInputs != null) {
+            // Back to the current path so discard the pending geometry
+            this.mGeometryGeneration.incrementAndGet();
+            this.mPendingPathInputs = null;
+        }
 
         // If have some dimension to wrap will use the path boundaries for have the right
         // dimension summed to the global padding.
+        // Note that while a geometry is measured in background the bounds are the ones of the
+        // current geometry: when the new geometry will be published a new layout is requested
+        // and the dimensions will be adjusted.
         if (this.getLayoutParams().width == ViewGroup.LayoutParams.WRAP_CONTENT) {
             RectF rect = this.mPathMeasure.getBounds();
             width = (int) (rect != null ? rect.width() : 0) + widthGlobalPadding;
@@ -458,6 +1101,10 @@ public abstract class ScDrawer extends ScBase {
                 .getVirtualArea(width - widthGlobalPadding, height - heightGlobalPadding);
         this.mAreaScale = this.getScale(this.mVirtualArea, this.mDrawArea);
 
+        // The areas could be changed so the drawing path must be checked.
+        // When the path changed the features will be refreshed.
+        this.updateDrawGeometry();
+
         // Fix the component dimensions limits
         width = ScDrawer.valueRangeLimit(width, 0, this.mMaximumWidth);
         height = ScDrawer.valueRangeLimit(height, 0, this.mMaximumHeight);
@@ -559,7 +1206,12 @@ public abstract class ScDrawer extends ScBase {
         state.putInt("mFillingMode", this.mFillingMode.ordinal());
         state.putBoolean("mRecognizePathTouch", this.mRecognizePathTouch);
         state.putBoolean("mDoubleBuffering", this.mDoubleBuffering);
+        state.putBoolean("mSharedBuffering", this.mSharedBuffering);
+        state.putBoolean("mDisplayListCaching", this.mDisplayListCaching);
+        state.putBoolean("mAsyncGeometry", this.mAsyncGeometry);
+        state.putBoolean("mShareGeometry", this.mShareGeometry);
         state.putFloat("mPathTouchThreshold", this.mPathTouchThreshold);
+        state.putFloat("mPathTolerance", this.mPathTolerance);
 
         // Return the new state
         return state;
@@ -586,7 +1238,12 @@ public abstract class ScDrawer extends ScBase {
         this.mFillingMode = FillingMode.values()[savedState.getInt("mFillingMode")];
         this.mRecognizePathTouch = savedState.getBoolean("mRecognizePathTouch");
         this.mDoubleBuffering = savedState.getBoolean("mDoubleBuffering");
+        this.mSharedBuffering = savedState.getBoolean("mSharedBuffering");
+        this.mDisplayListCaching = savedState.getBoolean("mDisplayListCaching");
+        this.mAsyncGeometry = savedState.getBoolean("mAsyncGeometry");
+        this.mShareGeometry = savedState.getBoolean("mShareGeometry");
         this.mPathTouchThreshold = savedState.getFloat("mPathTouchThreshold");
+        this.mPathTolerance = savedState.getFloat("mPathTolerance");
     }
 
 
@@ -620,14 +1277,27 @@ public abstract class ScDrawer extends ScBase {
         return this.mPathMeasure.getPositionOnPath(x, y, threshold);
     }
 
+    /**
+     * Get the path geometry engine.
+     * Through this property can be access to the path object and some extra function.
+     * @return the geometry engine
+     */
+    @SuppressWarnings("unused")
+    public ScGeometry getGeometry() {
+        return this.mPathMeasure;
+    }
+
     /**
      * Get the path measure.
      * Through this property can be access to the path object and some extra function.
-     * @return the path measure object
+     * @return the path measure object or null if the geometry engine is not a path measure
+     * @deprecated use getGeometry instead.
      */
     @SuppressWarnings("unused")
+    @Deprecated
     public ScPathMeasure getPathMeasure() {
-        return this.mPathMeasure;
+        return this.mPathMeasure instanceof ScPathMeasure ?
+                (ScPathMeasure) this.mPathMeasure: null;
     }
 
 
@@ -992,6 +1662,135 @@ public abstract class ScDrawer extends ScBase {
         return this.mDoubleBuffering;
     }
 
+    /**
+     * Set the shared buffering status.
+     * <p>
+     * If true all the features that use the double buffering will be drawn on a unique
+     * bitmap shared by all of them in place of use a bitmap for each feature. So the memory
+     * used will depend by the component dimensions and not by the number of features.
+     * The features that not use the double buffering will be drawn directly on the canvas.
+     * <p>
+     * Noted that the shared bitmap will be drawn in place of the first feature that use the
+     * double buffering so all the features that use it will be drawn below the features that
+     * not use it and that follow the first one.
+     * @param value the status
+     */
+    @SuppressWarnings("unused")
+    public void setSharedBuffering(boolean value) {
+        if (this.mSharedBuffering != value) {
+            this.mSharedBuffering = value;
+
+            // If false free the memory
+            if (!this.mSharedBuffering)
+                this.freeSharedLayer();
+
+            this.invalidate();
+        }
+    }
+
+    /**
+     * Get the shared buffering status.
+     * <p>
+     * If true all the features that use the double buffering will be drawn on a unique
+     * bitmap shared by all of them in place of use a bitmap for each feature.
+     * @return the status
+     */
+    @SuppressWarnings("unused")
+    public boolean getSharedBuffering() {
+        return this.mSharedBuffering;
+    }
+
+
+    /**
+     * Set the display list caching status.
+     * <p>
+     * If true all the features that use the double buffering will record their drawing in a
+     * display list in place of a bitmap. The static features will be replayed at every draw
+     * without allocate any bitmap of the canvas dimensions.
+     * <p>
+     * Noted that if the shared buffering is enabled the features will be drawn on the shared
+     * bitmap.
+     * @param value the status
+     */
+    @SuppressWarnings("unused")
+    public void setDisplayListCaching(boolean value) {
+        if (this.mDisplayListCaching != value) {
+            this.mDisplayListCaching = value;
+            this.invalidate();
+        }
+    }
+
+    /**
+     * Get the display list caching status.
+     * @return the status
+     */
+    @SuppressWarnings("unused")
+    public boolean getDisplayListCaching() {
+        return this.mDisplayListCaching;
+    }
+
+
+    /**
+     * Set the asynchronous geometry status.
+     * <p>
+     * If true the path created on the measure and the path where the features draw will be
+     * measured on a background worker and the component will continue to draw the previous
+     * path, or nothing the first time, until the new geometry is ready.
+     * The geometry engines that measure the path by the equations, like the arc one, not need
+     * the worker for the created path that will be always measured directly.
+     * The info that every feature calculate from the geometry (as the copier band or the
+     * repetitions table) are still calculated on the UI thread at the first drawing.
+     * <p>
+     * Noted that the createGeometry method is always called on the UI thread while the geometry
+     * engine created will be measured on the worker.
+     * @param value the status
+     */
+    @SuppressWarnings("unused")
+    public void setAsyncGeometry(boolean value) {
+        if (this.mAsyncGeometry != value) {
+            this.mAsyncGeometry = value;
+            this.requestLayout();
+        }
+    }
+
+    /**
+     * Get the asynchronous geometry status.
+     * @return the status
+     */
+    @SuppressWarnings("unused")
+    public boolean getAsyncGeometry() {
+        return this.mAsyncGeometry;
+    }
+
+
+    /**
+     * Set the shared geometry status.
+     * <p>
+     * If true the drawers that create the same path, identified by the getGeometryKey method,
+     * will share the same geometry so the path will be created and measured only once.
+     * The geometry is shared only while the component is attached to a window.
+     * @param value the status
+     */
+    @SuppressWarnings("unused")
+    public void setShareGeometry(boolean value) {
+        if (this.mShareGeometry != value) {
+            // Store the value and stop to share the current geometry
+            this.mShareGeometry = value;
+            if (!value)
+                this.releaseGeometry();
+            this.requestLayout();
+        }
+    }
+
+    /**
+     * Get the shared geometry status.
+     * @return the status
+     */
+    @SuppressWarnings("unused")
+    public boolean getShareGeometry() {
+        return this.mShareGeometry;
+    }
+
 
     /**
      * Set the maximum height of the component
@@ -1059,6 +1858,39 @@ public abstract class ScDrawer extends ScBase {
     }
 
 
+    /**
+     * Set the max error, in pixels, allowed to the points approximation of the path where
+     * the features draw.
+     * If zero the path will be approximated with a point for every pixel, else the points will
+     * be placed considering the path curvature so that the less curved segments will need
+     * less points.
+     * Noted that the geometry engines that measure the path by the equations not use any
+     * approximation.
+     * @param value the max error in pixels
+     */
+    @SuppressWarnings("unused")
+    public void setPathTolerance(float value) {
+        // Fix the value
+        if (value < 0.0f) value = 0.0f;
+
+        // Check if value is changed
+        if (this.mPathTolerance != value) {
+            this.mPathTolerance = value;
+            this.requestLayout();
+        }
+    }
+
+    /**
+     * Get the max error, in pixels, allowed to the points approximation of the path where
+     * the features draw.
+     * @return the max error in pixels
+     */
+    @SuppressWarnings("unused")
+    public float getPathTolerance() {
+        return this.mPathTolerance;
+    }
+
+
     // ***************************************************************************************
     // Public listener and interface
 
@@ -1,12 +1,17 @@
 package com.sccomponents.gauges.library;
 
+import android.annotation.TargetApi;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Path;
+import android.graphics.Picture;
+import android.graphics.Rect;
 import android.graphics.RectF;
+import android.graphics.RenderNode;
+import android.os.Build;
 import android.util.Log;
 
 import java.util.Arrays;
@@ -66,11 +71,32 @@ public abstract class ScFeature {
         OUTSIDE
     }
 
+    /**
+     * Define the impact of a property change on the feature drawing.
+     * NONE: nothing to redraw.
+     * TRANSFORM: the same drawing is only moved or limited on the path. The drawing must be
+     * redone but the drawing extent is kept.
+     * REPAINT: the drawing must be repainted but its geometry not change. The drawing must be
+     * redone but the drawing extent is kept.
+     * GEOMETRY: the drawing geometry changed so the drawing extent, and with it the drawing
+     * area, must be recalculated.
+     */
+    @SuppressWarnings("unused")
+    public enum PropertyImpact {
+        NONE,
+        TRANSFORM,
+        REPAINT,
+        GEOMETRY
+    }
+
 
     // ***************************************************************************************
     // Private variable
 
-    private ScPathMeasure mPathMeasure;
+    private ScGeometry mPathMeasure;
+    private boolean mGeometryBorrowed;
+    private ScPathCursor mCursor;
+    private ScGeometry mCursorGeometry;
     private String mTag;
     private Paint mPaint;
     private int[] mColors;
@@ -84,8 +110,21 @@ public abstract class ScFeature {
     private boolean mIsDrawing;
     private ContourInfo mContourInfo;
     private Bitmap mBuffer;
+    private Rect mBufferArea;
+    private Matrix mBufferMatrix;
     private Canvas mCanvas;
+    private boolean mBufferDirty;
     private boolean mDoubleBuffering;
+    private boolean mSharedLayer;
+    private int mRevision;
+    private int mGeometryRevision;
+    private int mExtentRevision;
+    private float mExtent;
+
+    private boolean mDisplayListCaching;
+    private Picture mPicture;
+    private int mPictureRevision;
+    private RenderNodeCache mRenderNode;
 
     // Listeners
     private OnDrawContourListener mOnDrawListener;
@@ -93,6 +132,9 @@ public abstract class ScFeature {
 
     // Generic holder
     private float[] mGenericTangent;
+    private float[] mGenericPoint;
+    private RectF mGenericBounds;
+    private Path mGenericPath;
 
 
     /****************************************************************************************
@@ -112,14 +154,28 @@ public abstract class ScFeature {
         this.mEndPercentage = 100.0f;
 
         this.mGenericTangent = new float[2];
+        this.mGenericPoint = new float[2];
+        this.mGenericBounds = new RectF();
+        this.mGenericPath = new Path();
 
         this.mContourIndex = 1;
         this.mConsiderContours = false;
 
         this.mBuffer = null;
+        this.mBufferDirty = true;
+        this.mBufferArea = new Rect();
+        this.mBufferMatrix = new Matrix();
         this.mCanvas = new Canvas();
-        this.mPathMeasure = new ScPathMeasure();
+        this.mPathMeasure = this.createGeometry();
+        this.mGeometryBorrowed = false;
         this.mDoubleBuffering = true;
+        this.mSharedLayer = false;
+
+        this.mDisplayListCaching = false;
+        this.mPictureRevision = -1;
+        this.mRevision = 0;
+        this.mGeometryRevision = 0;
+        this.mExtentRevision = -1;
 
         // Create the painter
         this.mPaint = new Paint();
@@ -154,10 +210,103 @@ public abstract class ScFeature {
     @SuppressWarnings({"unused"})
     protected abstract void onDraw(Canvas canvas, ContourInfo info);
 
+    /**
+     * Get the max distance from the path that the feature drawing can reach.
+     * This methods should be overridden by the inherited classes for limit the double
+     * buffering bitmap only to the area really used by the drawing.
+     * @return  the distance or a negative value if unknown
+     */
+    @SuppressWarnings({"unused"})
+    protected float getDrawingExtent() {
+        return -1.0f;
+    }
+
+    /**
+     * Get the bounds, in the path space, of the area where the feature will draw.
+     * If the draw listener is defined the drawing could be moved everywhere so the bounds
+     * will be considered unknown.
+     * @param bounds    where to save the bounds
+     * @return          false if the bounds are unknown
+     */
+    @SuppressWarnings({"unused"})
+    protected boolean getDrawingBounds(RectF bounds) {
+        // Check for the listener
+        if (this.mOnDrawListener != null)
+            return false;
+
+        // Check for empty values
+        float extent = this.getCachedDrawingExtent();
+        RectF pathBounds = this.mPathMeasure.getBounds();
+        if (extent < 0.0f || pathBounds == null)
+            return false;
+
+        // Inflate the path bounds considering one more pixel for the antialiasing
+        bounds.set(pathBounds);
+        bounds.inset(-extent - 1.0f, -extent - 1.0f);
+        return true;
+    }
+
+    /**
+     * Get the bounds, in the path space, of the area where the feature can draw between two
+     * distances from the path start.
+     * Used to find the area damaged when a feature move along the path.
+     * @param startDistance the start distance
+     * @param endDistance   the end distance
+     * @param bounds        where to save the bounds
+     * @return              false if the bounds are unknown
+     */
+    @SuppressWarnings({"unused"})
+    protected boolean getDrawingBounds(float startDistance, float endDistance, RectF bounds) {
+        // Check if the whole drawing bounds are known
+        ScGeometry measure = this.mPathMeasure;
+        if (!this.getDrawingBounds(bounds) || measure.getLength() == 0.0f)
+            return false;
+
+        // Order the distances
+        float start = Math.min(startDistance, endDistance);
+        float end = Math.max(startDistance, endDistance);
+
+        // Find the segment bounds.
+        // The bounds of a segment of zero length is the point at the distance.
+        if (start == end) {
+            if (!measure.getPosTan(start, this.mGenericPoint, null))
+                return false;
+            bounds.set(
+                    this.mGenericPoint[0], this.mGenericPoint[1],
+                    this.mGenericPoint[0], this.mGenericPoint[1]
+            );
+
+        } else {
+            this.mGenericPath.rewind();
+            if (!measure.getSegment(start, end, this.mGenericPath, true))
+                return false;
+            this.mGenericPath.computeBounds(bounds, true);
+        }
+
+        // Inflate considering the drawing extent and one more pixel for the antialiasing
+        float extent = this.getCachedDrawingExtent();
+        bounds.inset(-extent - 1.0f, -extent - 1.0f);
+        return true;
+    }
+
 
     // ***************************************************************************************
     // Private methods
 
+    /**
+     * Get the drawing extent calculating it again only if a property changing the geometry
+     * was changed, or the feature was refreshed, from the last call.
+     * @return  the distance or a negative value if unknown
+     */
+    private float getCachedDrawingExtent() {
+        // Calculate only when needed
+        if (this.mExtentRevision != this.mGeometryRevision) {
+            this.mExtent = this.getDrawingExtent();
+            this.mExtentRevision = this.mGeometryRevision;
+        }
+        return this.mExtent;
+    }
+
     /**
      * Check if two strings are equal considering the null too.
      * @param a first
@@ -335,8 +484,8 @@ public abstract class ScFeature {
      */
     private void drawContours(Canvas canvas) {
         // Cycle all contours
-        int contour = 1;
-        do {
+        int count = this.mPathMeasure.countContours();
+        for (int contour = 1; contour <= count; contour ++) {
             // Save the current contour index as need to have it globally.
             // The current contour will used to get the current path measurer in case we treat
             // the path in separate contours.
@@ -357,8 +506,7 @@ public abstract class ScFeature {
             canvas.save();
             this.drawContour(canvas, info);
             canvas.restore();
-
-        } while (this.mPathMeasure.nextContour());
+        }
 
         // Reset the contour index
         this.mContourIndex = 1;
@@ -376,6 +524,165 @@ public abstract class ScFeature {
         this.mBuffer = null;
     }
 
+    /**
+     * Set the path to measure.
+     * A borrowed geometry cannot be changed so, if the path is not the one already measured,
+     * the feature will come back to use its own geometry.
+     * The paths are compared by reference so a path changed in place will not be measured
+     * again until the feature will be refreshed.
+     * @param path the path to measure
+     */
+    private void setMeasurePath(Path path) {
+        // Already measured
+        if (this.mPathMeasure.getPath() == path)
+            return ;
+
+        // Check the borrowed geometry
+        if (this.mGeometryBorrowed) {
+            // Create an own geometry
+            this.mPathMeasure = this.createGeometry();
+            this.mGeometryBorrowed = false;
+        }
+
+        // Measure
+        this.mPathMeasure.setPath(path, false);
+    }
+
+    /**
+     * Use a geometry already measuring the path in place of the feature own geometry.
+     * The geometry is owned by the caller and will never be changed by the feature.
+     * If the geometry is changed the feature drawing must be redone.
+     * @param geometry the geometry to borrow
+     * @hide
+     */
+    void borrowGeometry(ScGeometry geometry) {
+        // Check if value is changed
+        if (geometry != null && this.mPathMeasure != geometry) {
+            // Store the new value and force to redraw
+            this.mPathMeasure = geometry;
+            this.mGeometryBorrowed = true;
+            this.mBufferDirty = true;
+            this.mRevision ++;
+        }
+    }
+
+    /**
+     * Free the display list recordings.
+     */
+    private void freeDisplayList() {
+        // Free memory
+        if (this.mRenderNode != null)
+            this.mRenderNode.discard();
+
+        this.mRenderNode = null;
+        this.mPicture = null;
+        this.mPictureRevision = -1;
+    }
+
+    /**
+     * Draw the contours directly on the passed canvas without lose its current matrix.
+     * @param canvas    where to draw
+     * @param path      the path to draw
+     * @param matrix    the matrix to apply
+     */
+    private void drawDirectly(Canvas canvas, Path path, Matrix matrix) {
+        // Reset the measurer
+        this.setMeasurePath(path);
+
+        // Apply the matrix
+        canvas.save();
+        if (matrix != null)
+            canvas.concat(matrix);
+
+        // If the have only one color inside the colors array set it directly on the painter
+        if (this.mColors != null && this.mColors.length == 1)
+            this.mPaint.setColor(this.mColors[0]);
+
+        // Draw the contours and restore the canvas
+        this.drawContours(canvas);
+        canvas.restore();
+    }
+
+    /**
+     * Draw the feature replaying its display list.
+     * The drawing is recorded again only when the feature revision or the canvas dimensions
+     * change.
+     * From Android Q the recording is hold by a render node, before by a picture that can be
+     * drawn on a hardware accelerated canvas only from Marshmallow.
+     * @param canvas    where to draw
+     * @param path      the path to draw
+     * @param matrix    the matrix to apply
+     * @return          false if the display list cannot be used with the canvas
+     */
+    private boolean drawDisplayList(Canvas canvas, Path path, Matrix matrix) {
+        // Holders
+        int width = canvas.getWidth();
+        int height = canvas.getHeight();
+        boolean isHardware = canvas.isHardwareAccelerated();
+
+        // Render node
+        if (isHardware && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            // Record only if needed
+            if (this.mRenderNode == null)
+                this.mRenderNode = new RenderNodeCache();
+            if (!this.mRenderNode.isValid(this.mRevision, width, height)) {
+                Canvas recording = this.mRenderNode.beginRecording(width, height);
+                this.drawDirectly(recording, path, matrix);
+                this.mRenderNode.endRecording(this.mRevision);
+            }
+
+            // Replay
+            this.mRenderNode.draw(canvas);
+            return true;
+        }
+
+        // Check if the picture can be drawn
+        if (isHardware && Build.VERSION.SDK_INT < Build.VERSION_CODES.M)
+            return false;
+
+        // Record only if needed
+        if (this.mPicture == null || this.mPictureRevision != this.mRevision ||
+                this.mPicture.getWidth() != width || this.mPicture.getHeight() != height) {
+            // Record
+            if (this.mPicture == null)
+                this.mPicture = new Picture();
+            Canvas recording = this.mPicture.beginRecording(width, height);
+            this.drawDirectly(recording, path, matrix);
+            this.mPicture.endRecording();
+            this.mPictureRevision = this.mRevision;
+        }
+
+        // Replay
+        canvas.drawPicture(this.mPicture);
+        return true;
+    }
+
+    /**
+     * Set if the feature is drawn on a layer shared with others features.
+     * In this case the feature not need to use its own double buffering.
+     * @param value the status
+     * @hide
+     */
+    void setSharedLayer(boolean value) {
+        // Check if value is changed
+        if (this.mSharedLayer != value) {
+            // Store the new value and free the own buffer
+            this.mSharedLayer = value;
+            this.freeBitmapMemory();
+            this.mRevision ++;
+        }
+    }
+
+    /**
+     * Get the revision of the feature drawing.
+     * The revision change every time the feature drawing must be redone.
+     * @return the revision
+     * @hide
+     */
+    int getRevision() {
+        return this.mRevision;
+    }
+
     /**
      * Proxy for call the property change event
      * @param name  the property name
@@ -383,14 +690,33 @@ public abstract class ScFeature {
      * @hide
      */
     protected void onPropertyChange(String name, Object value) {
-        // Need to redraw the bitmap
-        this.freeBitmapMemory();
+        // Need to redraw the bitmap only if the property have a visual impact.
+        // The bitmap memory will be reused on the next drawing.
+        PropertyImpact impact = this.getPropertyImpact(name);
+        if (impact != PropertyImpact.NONE) {
+            this.mBufferDirty = true;
+            this.mRevision ++;
+        }
+
+        // Only changing the geometry the drawing extent must be calculated again
+        if (impact == PropertyImpact.GEOMETRY)
+            this.mGeometryRevision ++;
 
         // Listener
         if (this.mOnPropertyChangedListener != null)
             this.mOnPropertyChangedListener.onPropertyChanged(this, name, value);
     }
 
+    /**
+     * Create the geometry engine that will measure the feature path.
+     * Override this method for use a different engine.
+     * @return the new geometry engine
+     */
+    @SuppressWarnings({"unused"})
+    protected ScGeometry createGeometry() {
+        return new ScPathMeasure();
+    }
+
     /**
      * Get the index path measurer and if not exists create and store it.
      * In this case we will use the PathMeasurer class as we need to treat just
@@ -399,9 +725,10 @@ public abstract class ScFeature {
      * @return the measurer
      */
     @SuppressWarnings({"unused"})
-    protected ScPathMeasure getMeasure(int contour) {
-        // Move the contour and check the limit
-        float result = this.mPathMeasure.moveToContour(contour);
+    protected ScGeometry getMeasure(int contour) {
+        // Move the contour and check the limit.
+        // The contour index is one based while the measurer index is zero based.
+        float result = this.mPathMeasure.moveToContour(contour - 1);
         if (result == -1)
             throw new IndexOutOfBoundsException();
 
@@ -416,7 +743,7 @@ public abstract class ScFeature {
      * @return the measurer
      */
     @SuppressWarnings({"unused"})
-    protected ScPathMeasure getMeasure() {
+    protected ScGeometry getMeasure() {
         // Select the case
         if (this.mIsDrawing && this.mConsiderContours)
             // Back the current path measurer
@@ -437,22 +764,67 @@ public abstract class ScFeature {
         float endDistance = this.getEndToDistance();
 
         // Trim a new segment and save it inside the path
-        ScPathMeasure measurer = this.getMeasure();
+        ScGeometry measurer = this.getMeasure();
         if (measurer != null)
             measurer.getSegment(startDistance, endDistance, path, true);
     }
 
     /**
-     * Try to allocate a bitmap
+     * Find the canvas area where the feature will draw.
+     * If the feature drawing bounds are unknown the area will be the whole canvas.
+     * @param canvas    the canvas where draw
+     * @param path      the path to draw
+     * @param matrix    the matrix to apply at the path
+     * @param area      where to save the area
+     * @return          false if the drawing bounds are unknown
+     * @hide
+     */
+    boolean getDrawingArea(Canvas canvas, Path path, Matrix matrix, Rect area) {
+        // Update the measurer
+        this.setMeasurePath(path);
+
+        // Get the bounds in the path space
+        RectF bounds = this.mGenericBounds;
+        if (!this.getDrawingBounds(bounds)) {
+            area.set(0, 0, canvas.getWidth(), canvas.getHeight());
+            return false;
+        }
+
+        // Convert the bounds in the canvas space and limit them to the canvas
+        if (matrix != null)
+            matrix.mapRect(bounds);
+        bounds.roundOut(area);
+        if (!area.intersect(0, 0, canvas.getWidth(), canvas.getHeight()))
+            area.set(0, 0, 1, 1);
+        return true;
+    }
+
+    /**
+     * Check if the feature drawing area is outside the canvas clip.
+     * If the drawing bounds are unknown the feature is considered inside.
+     * @param canvas    the canvas where draw
+     * @param matrix    the matrix to apply at the path
+     * @return          true if the drawing can be skipped
+     */
+    private boolean isOutsideClip(Canvas canvas, Matrix matrix) {
+        // Get the bounds in the path space
+        RectF bounds = this.mGenericBounds;
+        if (!this.getDrawingBounds(bounds))
+            return false;
+
+        // Convert the bounds in the canvas space and check
+        if (matrix != null)
+            matrix.mapRect(bounds);
+        return canvas.quickReject(bounds, Canvas.EdgeType.AA);
+    }
+
+    /**
+     * Try to allocate a bitmap covering only the feature drawing area
      */
     @SuppressWarnings("unused")
-    private Bitmap createBitmap(Canvas canvas) {
+    private Bitmap createBitmap(int width, int height) {
         try {
-            return Bitmap.createBitmap(
-                canvas.getWidth(),
-                canvas.getHeight(),
-                Bitmap.Config.ARGB_8888
-            );
+            return Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
 
         } catch (Exception ex) {
             Log.d("ScFeature", "createBitmap: no memory");
@@ -460,10 +832,75 @@ public abstract class ScFeature {
         }
     }
 
+    /**
+     * Prepare the double buffering bitmap.
+     * The bitmap will be reallocated only if the drawing area size is changed else will be
+     * cleared and reused.
+     * @param canvas    the master canvas
+     * @param path      the path to draw
+     * @param matrix    the matrix to apply
+     */
+    private void prepareBuffer(Canvas canvas, Path path, Matrix matrix) {
+        // Find the drawing area
+        this.getDrawingArea(canvas, path, matrix, this.mBufferArea);
+        int width = this.mBufferArea.width();
+        int height = this.mBufferArea.height();
+
+        // Reuse the current bitmap if have the same dimensions
+        if (this.mBuffer != null && !this.mBuffer.isRecycled() &&
+                this.mBuffer.getWidth() == width && this.mBuffer.getHeight() == height) {
+            this.mBuffer.eraseColor(Color.TRANSPARENT);
+            return ;
+        }
+
+        // Reallocate
+        this.freeBitmapMemory();
+        this.mBuffer = this.createBitmap(width, height);
+    }
+
 
     // ***************************************************************************************
     // Public and static methods
 
+    /**
+     * Get the impact on the drawing of a property change.
+     * Override this method for classify the properties of the inherited classes.
+     * The unknown properties will be considered as changing the geometry.
+     * @param name  the property name
+     * @return      the impact
+     */
+    @SuppressWarnings("unused")
+    public PropertyImpact getPropertyImpact(String name) {
+        // Check for empty values
+        if (name == null)
+            return PropertyImpact.GEOMETRY;
+
+        // Select
+        switch (name) {
+            // No visual effect
+            case "tag":
+            case "doubleBuffering":
+            case "displayListCaching":
+                return PropertyImpact.NONE;
+
+            // Only the painting.
+            // The painter is not here as could change the stroke or the text dimensions.
+            case "visible":
+            case "colors":
+            case "colorsMode":
+                return PropertyImpact.REPAINT;
+
+            // Limits on the path
+            case "startAt":
+            case "endTo":
+                return PropertyImpact.TRANSFORM;
+
+            // All the others
+            default:
+                return PropertyImpact.GEOMETRY;
+        }
+    }
+
     /**
      * Implement a copy of this object
      * @param destination the destination object
@@ -491,7 +928,11 @@ public abstract class ScFeature {
 
     /**
      * Draw something on the canvas.
+     * The path is measured only when a different path object is passed, as the drawing is
+     * cached. If the same path object is changed the refresh method must be called before
+     * draw it again.
      * @param canvas where draw
+     * @param path   the path to draw
      * @param matrix to apply at canvas
      */
     @SuppressWarnings("unused")
@@ -501,42 +942,71 @@ public abstract class ScFeature {
                 !this.mVisible || path == null)
             return;
 
+        // Measure the path before check the drawing bounds
+        this.setMeasurePath(path);
+
+        // Skip the features that not intersect the area to redraw
+        if (this.isOutsideClip(canvas, matrix))
+            return;
+
         // Is drawing
         this.mIsDrawing = true;
 
-        // Redraw only if request
-        if (this.mBuffer == null) {
-            // Reset measurer
-            // Reset
-            this.mPathMeasure.setPath(path, false);
+        // Try to use the display list in place of the double buffering bitmap.
+        // If drawing on a shared layer the owner is already buffering the draw.
+        if (this.mDoubleBuffering && this.mDisplayListCaching && !this.mSharedLayer &&
+                this.drawDisplayList(canvas, path, matrix)) {
+            this.mIsDrawing = false;
+            return;
+        }
 
-            // Try to create the bitmap for double buffering
-            if (this.mDoubleBuffering)
-                this.mBuffer = this.createBitmap(canvas);
+        // Redraw only if request
+        if (this.mBuffer == null || this.mBufferDirty) {
+            // Try to prepare the bitmap for double buffering.
+            // If drawing on a shared layer the owner is already buffering the draw.
+            if (this.mDoubleBuffering && !this.mSharedLayer)
+                this.prepareBuffer(canvas, path, matrix);
 
             // Define the bitmap canvas if able to use double buffering
-            if (this.mBuffer != null)
+            Canvas target = canvas;
+            if (this.mBuffer != null) {
                 this.mCanvas.setBitmap(this.mBuffer);
-            else
-                // Is impossible to use the double buffering so will write
-                // directly on the master canvas.
-                this.mCanvas = canvas;
+                target = this.mCanvas;
+
+                // Apply the matrix moving the drawing on the bitmap area
+                this.mBufferMatrix.reset();
+                if (matrix != null)
+                    this.mBufferMatrix.set(matrix);
+                this.mBufferMatrix.postTranslate(-this.mBufferArea.left, -this.mBufferArea.top);
+                target.setMatrix(this.mBufferMatrix);
 
-            // Apply the matrix
-            if (matrix != null)
-                this.mCanvas.setMatrix(matrix);
+            } else {
+                // Is impossible to use the double buffering so will write
+                // directly on the master canvas without lose its current matrix.
+                target.save();
+                if (matrix != null)
+                    target.concat(matrix);
+            }
 
             // If the have only one color inside the colors array set it directly on the painter
             if (this.mColors != null && this.mColors.length == 1)
                 this.mPaint.setColor(this.mColors[0]);
 
             // Draw the contours
-            this.drawContours(this.mCanvas);
+            this.drawContours(target);
+
+            // Restore the master canvas
+            if (this.mBuffer == null)
+                target.restore();
+
+            // Drawn
+            this.mBufferDirty = false;
         }
 
         // Draw the buffer on the canvas only if exists
         if (this.mBuffer != null)
-            canvas.drawBitmap(this.mBuffer, 0, 0, null);
+            canvas.drawBitmap(
+                    this.mBuffer, this.mBufferArea.left, this.mBufferArea.top, null);
 
         // Not drawing
         this.mIsDrawing = false;
@@ -551,20 +1021,109 @@ public abstract class ScFeature {
         this.draw(canvas, path, null);
     }
 
+    /**
+     * Draw something on the canvas using a geometry already measuring the path.
+     * The geometry can be shared by many features so the path is measured only once. It will
+     * be used in place of the geometry created by the createGeometry method and never changed.
+     * @param canvas    where draw
+     * @param geometry  the geometry measuring the path to draw
+     * @param matrix    to apply at canvas
+     */
+    @SuppressWarnings("unused")
+    public void draw(Canvas canvas, ScGeometry geometry, Matrix matrix) {
+        // Check for empty values
+        if (geometry == null)
+            return ;
+
+        // Borrow the geometry and draw its path
+        this.borrowGeometry(geometry);
+        this.draw(canvas, geometry.getPath(), matrix);
+    }
+
     /**
      * Refresh the feature measure.
+     * Must be called when the path to draw is changed in place.
      */
     @SuppressWarnings("unused")
     public void refresh() {
-        // Force redraw
-        this.freeBitmapMemory();
+        // Force redraw.
+        // The bitmap will be reallocated only if the drawing area size will change.
+        this.mBufferDirty = true;
+        this.mRevision ++;
+        this.mGeometryRevision ++;
 
         // Need to refresh the measure
-        this.mPathMeasure = new ScPathMeasure();
+        this.mPathMeasure = this.createGeometry();
+        this.mGeometryBorrowed = false;
+    }
+
+    /**
+     * Compare the time spent to draw the feature using the display list caching against the
+     * time spent using the double buffering bitmap.
+     * For both the modes the feature is drawn once recording the cache and after drawn again,
+     * from the cache, for the given number of rounds.
+     * The buffering settings will be restored at the end.
+     * @param canvas    the canvas where draw
+     * @param path      the path to draw
+     * @param matrix    the matrix to apply
+     * @param rounds    how many times draw the feature from the cache
+     * @return          the nanoseconds spent: 0 - recording the display list, 1 - drawing from
+     *                  the display list, 2 - filling the bitmap, 3 - drawing from the bitmap
+     */
+    @SuppressWarnings({"unused"})
+    public long[] benchmarkDisplayListCaching(Canvas canvas, Path path, Matrix matrix, int rounds) {
+        // Holders
+        long[] result = new long[4];
+        boolean doubleBuffering = this.mDoubleBuffering;
+        boolean displayListCaching = this.mDisplayListCaching;
+        this.setDoubleBuffering(true);
+
+        // Cycle the two modes
+        for (int mode = 0; mode < 2; mode ++) {
+            // Select the mode and force to record the cache
+            this.setDisplayListCaching(mode == 0);
+            this.mBufferDirty = true;
+            this.mRevision ++;
+
+            // Record
+            long start = System.nanoTime();
+            this.draw(canvas, path, matrix);
+            result[mode * 2] = System.nanoTime() - start;
+
+            // Draw from the cache
+            start = System.nanoTime();
+            for (int round = 0; round < rounds; round ++)
+                this.draw(canvas, path, matrix);
+            result[mode * 2 + 1] = System.nanoTime() - start;
+        }
+
+        // Restore the settings
+        this.setDisplayListCaching(displayListCaching);
+        this.setDoubleBuffering(doubleBuffering);
+
+        // Return
+        return result;
+    }
+
+    /**
+     * Get the cursor moving on the passed geometry.
+     * The cursor will be created again only if the geometry change.
+     * @param geometry  the geometry
+     * @return          the cursor
+     */
+    private ScPathCursor getCursor(ScGeometry geometry) {
+        // Check if must be created
+        if (this.mCursor == null || this.mCursorGeometry != geometry) {
+            this.mCursor = geometry.createCursor();
+            this.mCursorGeometry = geometry;
+        }
+        return this.mCursor;
     }
 
     /**
      * Return a path point coordinates and tangent angle given the distance from the path start.
+     * The point is found by a cursor starting from the last point found, so requesting the
+     * distances in sequence the path will be walked only once.
      * @param distance the point distance from path start
      * @param point    the array where will save the point coordinates
      * @return the tangent angle in degrees
@@ -572,7 +1131,7 @@ public abstract class ScFeature {
     @SuppressWarnings("unused")
     public float getPointAndAngle(float distance, float[] point) {
         // Find the tangent
-        this.getMeasure().getPosTan(distance, point, this.mGenericTangent);
+        this.getCursor(this.getMeasure()).getPosTan(distance, point, this.mGenericTangent);
 
         // Convert calculated angle to degrees and return
         float angle = this.mGenericTangent == null ?
@@ -762,6 +1321,45 @@ public abstract class ScFeature {
     }
 
 
+    /**
+     * Set the display list caching status.
+     * <p>
+     * If true and the double buffering is enabled the feature will record its drawing in a
+     * display list (a render node from Android Q or a picture before) in place of a bitmap.
+     * The display list is replayed at every draw and recorded again only when some feature
+     * properties will change or calling the refresh method.
+     * <p>
+     * Before Marshmallow the picture cannot be drawn on a hardware accelerated canvas so in
+     * this case will be used the double buffering bitmap.
+     * @param value the status
+     */
+    @SuppressWarnings({"unused"})
+    public void setDisplayListCaching(boolean value) {
+        if (this.mDisplayListCaching != value) {
+            // Set
+            this.mDisplayListCaching = value;
+
+            // Free the memory not more used
+            if (this.mDisplayListCaching)
+                this.freeBitmapMemory();
+            else
+                this.freeDisplayList();
+
+            // Event
+            this.onPropertyChange("displayListCaching", value);
+        }
+    }
+
+    /**
+     * Get the display list caching status.
+     * @return the status
+     */
+    @SuppressWarnings("unused")
+    public boolean getDisplayListCaching() {
+        return this.mDisplayListCaching;
+    }
+
+
     /**
      * Set the visibility
      * @param value the visibility
@@ -977,6 +1575,49 @@ public abstract class ScFeature {
     }
 
 
+    // ***************************************************************************************
+    // Display list class
+
+    /**
+     * Hold the render node used to record the feature drawing.
+     * Is a separate class for not load the render node class on the devices before Android Q.
+     */
+    @TargetApi(Build.VERSION_CODES.Q)
+    private static class RenderNodeCache {
+        private RenderNode node;
+        private int revision;
+
+        public RenderNodeCache() {
+            this.node = new RenderNode("ScFeature");
+            this.revision = -1;
+        }
+
+        public boolean isValid(int revision, int width, int height) {
+            return this.revision == revision && this.node.hasDisplayList() &&
+                    this.node.getWidth() == width && this.node.getHeight() == height;
+        }
+
+        public Canvas beginRecording(int width, int height) {
+            this.node.setPosition(0, 0, width, height);
+            return this.node.beginRecording();
+        }
+
+        public void endRecording(int revision) {
+            this.node.endRecording();
+            this.revision = revision;
+        }
+
+        public void draw(Canvas canvas) {
+            canvas.drawRenderNode(this.node);
+        }
+
+        public void discard() {
+            this.node.discardDisplayList();
+            this.revision = -1;
+        }
+    }
+
+
     // ***************************************************************************************
     // Drawing info class
 
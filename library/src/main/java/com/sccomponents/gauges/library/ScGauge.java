@@ -1,12 +1,15 @@
 package com.sccomponents.gauges.library;
 
 import android.animation.Animator;
+import android.animation.TimeInterpolator;
 import android.animation.ValueAnimator;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
 import android.os.Build;
 import android.os.Bundle;
 import android.os.Parcelable;
@@ -16,6 +19,8 @@ import android.view.animation.DecelerateInterpolator;
 
 import java.lang.reflect.Field;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Manage a generic gauge.
@@ -117,6 +122,9 @@ public abstract class ScGauge extends ScDrawer
     private static final float DEFAULT_HALO_SIZE = 10.0f;
     private static final int DEFAULT_HALO_ALPHA = 128;
 
+    // A NaN bits pattern never returned by Float.floatToIntBits
+    private static final int MAILBOX_EMPTY = 0xFFFFFFFF;
+
     /** Tag identifier of this feature */
     public static final String BASE_IDENTIFIER = "ScGauge_Base";
     /** Tag identifier of this feature */
@@ -172,10 +180,24 @@ public abstract class ScGauge extends ScDrawer
 
     private ValueAnimator mHighValueAnimator;
     private ValueAnimator mLowValueAnimator;
-    private AnimationStarter mAnimatorStarter;
+    private AnimationStarter mHighValueStarter;
+    private AnimationStarter mLowValueStarter;
+
+    private boolean mSharedAnimation;
+    private SharedAnimation mHighValueShared;
+    private SharedAnimation mLowValueShared;
+
+    private AtomicInteger mHighValueMailbox;
+    private AtomicInteger mLowValueMailbox;
+    private AtomicBoolean mMailboxPosted;
 
     private ScPointer mSelectedPointer;
 
+    private boolean mIsSyncing;
+    private RectF mDamageArea;
+    private RectF mGenericBounds;
+    private Rect mDamageRect;
+
     private OnEventListener mOnEventListener;
     private OnDrawListener mOnDrawListener;
 
@@ -206,6 +228,24 @@ public abstract class ScGauge extends ScDrawer
                 }
             };
 
+    // Events proxies
+    private ScAnimationClock.OnFrameListener proxyFrameListener =
+            new ScAnimationClock.OnFrameListener() {
+                @Override
+                public boolean onFrame(long frameTimeNanos) {
+                    return callOnFrame(frameTimeNanos);
+                }
+            };
+
+    // Events proxies
+    private Runnable proxyMailboxReader =
+            new Runnable() {
+                @Override
+                public void run() {
+                    callOnMailbox();
+                }
+            };
+
 
     // ***************************************************************************************
     // Classes
@@ -236,6 +276,56 @@ public abstract class ScGauge extends ScDrawer
         }
     }
 
+    /**
+     * Hold the status of a value animated by the shared animation clock.
+     * The animation start at the first frame received after the start calling.
+     */
+    @SuppressWarnings("InnerClassMayBeStatic")
+    class SharedAnimation {
+        private float startValue;
+        private float endValue;
+        private long startTime;
+        private boolean running;
+
+        public void start(float startValue, float endValue) {
+            this.startValue = startValue;
+            this.endValue = endValue;
+            this.startTime = -1;
+            this.running = true;
+        }
+
+        public void stop() {
+            this.running = false;
+        }
+
+        public boolean isRunning() {
+            return this.running;
+        }
+
+        public float getEndValue() {
+            return this.endValue;
+        }
+
+        public float advance(long frameTimeNanos, long duration, TimeInterpolator interpolator) {
+            // The first frame define the starting time
+            if (this.startTime == -1)
+                this.startTime = frameTimeNanos;
+
+            // Find the elapsed fraction
+            float fraction = duration <= 0 ?
+                    1.0f: (frameTimeNanos - this.startTime) / (duration * 1000000.0f);
+            if (fraction >= 1.0f) {
+                this.running = false;
+                return this.endValue;
+            }
+
+            // Interpolate
+            if (interpolator != null)
+                fraction = interpolator.getInterpolation(fraction);
+            return this.startValue + (this.endValue - this.startValue) * fraction;
+        }
+    }
+
 
     // ***************************************************************************************
     // Constructors
@@ -645,7 +735,21 @@ public abstract class ScGauge extends ScDrawer
         this.mLowValueAnimator.setInterpolator(new DecelerateInterpolator());
         this.mLowValueAnimator.addUpdateListener(this.proxyAnimatorUpdateListener);
 
-        this.mAnimatorStarter = new AnimationStarter();
+        this.mHighValueStarter = new AnimationStarter();
+        this.mLowValueStarter = new AnimationStarter();
+
+        this.mSharedAnimation = false;
+        this.mHighValueShared = new SharedAnimation();
+        this.mLowValueShared = new SharedAnimation();
+
+        this.mHighValueMailbox = new AtomicInteger(ScGauge.MAILBOX_EMPTY);
+        this.mLowValueMailbox = new AtomicInteger(ScGauge.MAILBOX_EMPTY);
+        this.mMailboxPosted = new AtomicBoolean(false);
+
+        this.mIsSyncing = false;
+        this.mDamageArea = new RectF();
+        this.mGenericBounds = new RectF();
+        this.mDamageRect = new Rect();
 
         //--------------------------------------------------
         // INTERNAL
@@ -764,12 +868,28 @@ public abstract class ScGauge extends ScDrawer
         if (treatLowValue && value > this.mHighValue) value = this.mHighValueAnimated;
         if (!treatLowValue && value < this.mLowValue) value = this.mLowValueAnimated;
 
+        // Check if the value is driven by the shared animation clock.
+        // The Choreographer is available only from Jelly Bean.
+        if (this.mSharedAnimation &&
+                android.os.Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            // Start from the current value and register to receive the next frames.
+            SharedAnimation shared = treatLowValue ? this.mLowValueShared : this.mHighValueShared;
+            if (currValue != value || shared.isRunning()) {
+                shared.start(currValue, value);
+                ScAnimationClock.getInstance().register(this.proxyFrameListener);
+            }
+            return ;
+        }
+
         // Check if value is changed
         if (currValue != value) {
             // The animator should be started on a different thread to be sure to start
             // when the gauges will finished to draw.
-            this.mAnimatorStarter.set(animator, currValue, value);
-            this.post(this.mAnimatorStarter);
+            // Every animator have its own starter so setting both the values before the
+            // starters run will not lose one of them.
+            AnimationStarter starter = treatLowValue ? this.mLowValueStarter : this.mHighValueStarter;
+            starter.set(animator, currValue, value);
+            this.post(starter);
         }
     }
 
@@ -892,11 +1012,15 @@ public abstract class ScGauge extends ScDrawer
         if (feature == null)
             return ;
 
-        // Attach the listener by the class type
-        feature.setOnDrawContourListener(this.proxyFeatureDrawListener);
+        // Attach the listener by the class type.
+        // If the class listener is not defined detach the proxies so the features not need
+        // to consider the listener when find their drawing area.
+        boolean attach = this.mOnDrawListener != null;
+        feature.setOnDrawContourListener(attach ? this.proxyFeatureDrawListener: null);
         if (feature instanceof ScRepetitions) {
             ScRepetitions repetitions = (ScRepetitions) feature;
-            repetitions.setOnDrawRepetitionListener(this.proxyRepetitionsDrawListener);
+            repetitions.setOnDrawRepetitionListener(
+                    attach ? this.proxyRepetitionsDrawListener: null);
         }
     }
 
@@ -926,6 +1050,8 @@ public abstract class ScGauge extends ScDrawer
         // Holders
         boolean needToUpdate = false;
         float currentValue = (float) animation.getAnimatedValue();
+        float lastLow = this.mLowValueAnimated;
+        float lastHigh = this.mHighValueAnimated;
 
         // Get the current value
         if (animation.equals(this.mHighValueAnimator))
@@ -947,7 +1073,7 @@ public abstract class ScGauge extends ScDrawer
             return;
 
         // Refresh
-        this.invalidate();
+        this.invalidateValues(lastLow, lastHigh);
 
         // Manage the listener
         if (this.mOnEventListener != null) {
@@ -960,6 +1086,272 @@ public abstract class ScGauge extends ScDrawer
         }
     }
 
+    /**
+     * Set the features linked to the values on the current animated values.
+     * The property changes not cause any invalidation as the caller will manage it.
+     */
+    private void syncFeatures() {
+        // Start syncing
+        this.mIsSyncing = true;
+
+        // Set the connected progress features properties
+        List<ScFeature> progresses = this.findFeatures(null, ScGauge.PROGRESS_IDENTIFIER);
+        for (ScFeature progress : progresses) {
+            progress.setEndTo(this.mHighValueAnimated);
+            progress.setStartAt(this.mLowValueAnimated);
+        }
+
+        // Set the connected pointers features properties
+        List<ScFeature> pointers = this.findFeatures(ScPointer.class, null);
+        for (ScFeature pointer : pointers) {
+            // Cast to right class
+            ScPointer casted = (ScPointer) pointer;
+            // Select
+            switch (pointer.getTag()) {
+                case ScGauge.HIGH_POINTER_IDENTIFIER:
+                    casted.setDistance(this.mHighValueAnimated);
+                    break;
+
+                case ScGauge.LOW_POINTER_IDENTIFIER:
+                    casted.setDistance(this.mLowValueAnimated);
+                    break;
+            }
+        }
+
+        // Set the connected labeler features properties
+        List<ScFeature> labelers = this.findFeatures(ScLabeler.class, null);
+        for (ScFeature labeler : labelers) {
+            // Cast to right class
+            ScLabeler casted = (ScLabeler) labeler;
+            // Set the distance only if this labeler still linked with the progress
+            if (casted.getLinkedToProgress())
+                casted.setDistance(this.mHighValueAnimated);
+        }
+
+        // End syncing
+        this.mIsSyncing = false;
+    }
+
+    /**
+     * Add to the damaged area the area where a feature can draw between two values.
+     * @param feature   the feature
+     * @param start     the start value in percentage
+     * @param end       the end value in percentage
+     * @return          false if the area is unknown
+     */
+    private boolean addDamage(ScFeature feature, float start, float end) {
+        // A not visible feature not draw anything
+        if (!feature.getVisible())
+            return true;
+
+        // Get the bounds in the features space
+        RectF bounds = this.mGenericBounds;
+        if (!feature.getDrawingBounds(
+                feature.getDistance(start), feature.getDistance(end), bounds))
+            return false;
+
+        // Move the bounds on the view and add them to the damaged area
+        this.mapFeaturesRect(bounds);
+        this.mDamageArea.union(bounds);
+        return true;
+    }
+
+    /**
+     * Move the features on the new animated values and invalidate only the area damaged by
+     * the moving features.
+     * The progress, the pointers and the linked labelers damage only the area between the
+     * previous and the new value.
+     * If the damaged area is unknown the whole view will be invalidated.
+     * @param lastLow   the previous low value
+     * @param lastHigh  the previous high value
+     */
+    private void invalidateValues(float lastLow, float lastHigh) {
+        // Holders
+        this.mDamageArea.setEmpty();
+        boolean isKnown = true;
+
+        // Progress features
+        List<ScFeature> progresses = this.findFeatures(null, ScGauge.PROGRESS_IDENTIFIER);
+        for (ScFeature progress : progresses) {
+            isKnown &= this.addDamage(progress, lastHigh, this.mHighValueAnimated);
+            isKnown &= this.addDamage(progress, lastLow, this.mLowValueAnimated);
+        }
+
+        // Pointers features
+        List<ScFeature> pointers = this.findFeatures(ScPointer.class, null);
+        for (ScFeature pointer : pointers) {
+            if (ScGauge.HIGH_POINTER_IDENTIFIER.equals(pointer.getTag()))
+                isKnown &= this.addDamage(pointer, lastHigh, this.mHighValueAnimated);
+            if (ScGauge.LOW_POINTER_IDENTIFIER.equals(pointer.getTag()))
+                isKnown &= this.addDamage(pointer, lastLow, this.mLowValueAnimated);
+        }
+
+        // Labelers features.
+        // The area of the previous text is found before to move the labelers.
+        List<ScFeature> labelers = this.findFeatures(ScLabeler.class, null);
+        for (ScFeature labeler : labelers)
+            if (((ScLabeler) labeler).getLinkedToProgress())
+                isKnown &= this.addDamage(labeler, lastHigh, this.mHighValueAnimated);
+
+        // Move the features
+        this.syncFeatures();
+
+        // The labelers linked to the progress draw the new value so the area of the new text
+        // can be found only after moving them.
+        for (ScFeature labeler : labelers)
+            if (((ScLabeler) labeler).getLinkedToProgress())
+                isKnown &= this.addDamage(labeler, lastHigh, this.mHighValueAnimated);
+
+        // Invalidate.
+        // If no damage was found, as when the gauge not have features linked to the values,
+        // the whole view will be invalidated.
+        // Note that the damaged area reduce the work only drawing on a software layer: from
+        // Lollipop a hardware accelerated view ignore the area and redraw the whole view.
+        if (!isKnown || this.mDamageArea.isEmpty()) {
+            this.invalidate();
+
+        } else {
+            this.mDamageArea.roundOut(this.mDamageRect);
+            this.invalidate(this.mDamageRect);
+        }
+    }
+
+    /**
+     * Write the value inside the mailbox and post the reader if not already posted.
+     * Can be called from any thread.
+     * @param mailbox   the mailbox
+     * @param value     the new value
+     */
+    private void postToMailbox(AtomicInteger mailbox, float value) {
+        // Overwrite the latest value not yet read
+        mailbox.set(Float.floatToIntBits(value));
+
+        // Post the reader
+        this.postMailboxReader();
+    }
+
+    /**
+     * Post the mailbox reader only once until it will be executed.
+     */
+    private void postMailboxReader() {
+        if (this.mMailboxPosted.compareAndSet(false, true)) {
+            if (android.os.Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN)
+                this.postOnAnimation(this.proxyMailboxReader);
+            else
+                this.post(this.proxyMailboxReader);
+        }
+    }
+
+    /**
+     * Read the latest values posted inside the mailboxes and apply them.
+     * Called on the UI thread at most once for frame.
+     */
+    private void callOnMailbox() {
+        // Allow a new posting before read so a value written after will not be lost
+        this.mMailboxPosted.set(false);
+
+        // Get the latest values
+        int highBits = this.mHighValueMailbox.getAndSet(ScGauge.MAILBOX_EMPTY);
+        int lowBits = this.mLowValueMailbox.getAndSet(ScGauge.MAILBOX_EMPTY);
+        float high = Float.intBitsToFloat(highBits);
+        float low = Float.intBitsToFloat(lowBits);
+
+        // When the values decrease the low value must be applied first or the high value will
+        // be limited by the current low value.
+        boolean lowFirst = lowBits != ScGauge.MAILBOX_EMPTY && low < this.mLowValue;
+        if (lowFirst)
+            this.setLowValue(low);
+        if (highBits != ScGauge.MAILBOX_EMPTY)
+            this.setHighValue(high);
+        if (lowBits != ScGauge.MAILBOX_EMPTY && !lowFirst)
+            this.setLowValue(low);
+    }
+
+    /**
+     * Advance the values driven by the shared animation clock.
+     * Both the values are updated before invalidate the view only once for frame.
+     * @param frameTimeNanos    the frame time in nanoseconds
+     * @return                  true if still animating
+     */
+    private boolean callOnFrame(long frameTimeNanos) {
+        // Holders
+        boolean needToUpdate = false;
+        float lastLow = this.mLowValueAnimated;
+        float lastHigh = this.mHighValueAnimated;
+
+        // High value
+        if (this.mHighValueShared.isRunning()) {
+            // Advance using the same setting of the high value animator
+            float currentValue = this.mHighValueShared.advance(
+                    frameTimeNanos,
+                    this.mHighValueAnimator.getDuration(),
+                    this.mHighValueAnimator.getInterpolator()
+            );
+
+            // If changed
+            if (currentValue != this.mHighValueAnimated) {
+                needToUpdate = true;
+                this.mHighValueAnimated = currentValue;
+            }
+        }
+
+        // Low value
+        if (this.mLowValueShared.isRunning()) {
+            // Advance using the same setting of the low value animator
+            float currentValue = this.mLowValueShared.advance(
+                    frameTimeNanos,
+                    this.mLowValueAnimator.getDuration(),
+                    this.mLowValueAnimator.getInterpolator()
+            );
+
+            // If changed
+            if (currentValue != this.mLowValueAnimated) {
+                needToUpdate = true;
+                this.mLowValueAnimated = currentValue;
+            }
+        }
+
+        // Check if still running
+        boolean isRunning = this.mHighValueShared.isRunning() || this.mLowValueShared.isRunning();
+        if (!needToUpdate)
+            return isRunning;
+
+        // Refresh
+        this.invalidateValues(lastLow, lastHigh);
+
+        // Manage the listener
+        if (this.mOnEventListener != null) {
+            this.mOnEventListener.onValueChange(
+                    this,
+                    this.mLowValueAnimated,
+                    this.mHighValueAnimated,
+                    isRunning
+            );
+        }
+
+        // Return the status checking it again as the listener could have started a new
+        // animation by setting the values.
+        return this.mHighValueShared.isRunning() || this.mLowValueShared.isRunning();
+    }
+
+    /**
+     * Stop the shared animations moving the values directly to the end.
+     */
+    private void stopSharedAnimation() {
+        // Unregister from the clock
+        ScAnimationClock.getInstance().unregister(this.proxyFrameListener);
+
+        // Jump to the end values
+        if (this.mHighValueShared.isRunning())
+            this.mHighValueAnimated = this.mHighValueShared.getEndValue();
+        if (this.mLowValueShared.isRunning())
+            this.mLowValueAnimated = this.mLowValueShared.getEndValue();
+
+        // Stop
+        this.mHighValueShared.stop();
+        this.mLowValueShared.stop();
+    }
+
     /**
      * Round the value (as percentage) near the closed notch.
      * @param value the value to round
@@ -968,7 +1360,7 @@ public abstract class ScGauge extends ScDrawer
     @SuppressWarnings("unused")
     public float snapToNotches(float value) {
         // Convert the percentage to a distance
-        float length = this.getPathMeasure().getLength();
+        float length = this.getGeometry().getLength();
         float distance = ScGauge.percentageToValue(value, 0, length);
 
         // Check for null values
@@ -990,7 +1382,11 @@ public abstract class ScGauge extends ScDrawer
      */
     @Override
     public void onPropertyChanged(ScFeature feature, String name, Object value) {
-        this.invalidate();
+        // Redraw only if the property change have a visual effect.
+        // While syncing the features on the values the invalidation is managed by the caller.
+        if (!this.mIsSyncing &&
+                feature.getPropertyImpact(name) != ScFeature.PropertyImpact.NONE)
+            this.invalidate();
     }
 
 
@@ -1015,6 +1411,7 @@ public abstract class ScGauge extends ScDrawer
         state.putFloat("mLowValue", this.mLowValue);
         state.putBoolean("mSnapToNotches", this.mSnapToNotches);
         state.putInt("mPointerSelectMode", this.mPointerSelectMode.ordinal());
+        state.putBoolean("mSharedAnimation", this.mSharedAnimation);
 
         // Return the new state
         return state;
@@ -1040,12 +1437,42 @@ public abstract class ScGauge extends ScDrawer
         this.mSnapToNotches = savedState.getBoolean("mSnapToNotches");
         this.mPointerSelectMode = PointerSelectMode
                 .values()[savedState.getInt("mPointerSelectMode")];
+        this.mSharedAnimation = savedState.getBoolean("mSharedAnimation");
     }
 
 
     // ***************************************************************************************
     // Overrides
 
+    /**
+     * Post again the mailbox reader when attached.
+     * Before Nougat the runnable posted from a worker thread to a detached view could be
+     * dropped so the reader is posted again if some value is waiting.
+     */
+    @Override
+    protected void onAttachedToWindow() {
+        // Super
+        super.onAttachedToWindow();
+
+        // Allow a new posting and post the reader if have values to read
+        this.mMailboxPosted.set(false);
+        if (this.mHighValueMailbox.get() != ScGauge.MAILBOX_EMPTY ||
+                this.mLowValueMailbox.get() != ScGauge.MAILBOX_EMPTY)
+            this.postMailboxReader();
+    }
+
+    /**
+     * Stop to receive the frames from the shared animation clock when detached.
+     */
+    @Override
+    protected void onDetachedFromWindow() {
+        // Super
+        super.onDetachedFromWindow();
+
+        // Stop the animations
+        this.stopSharedAnimation();
+    }
+
     /**
      * Setting the features and call the ScDrawer base draw method.
      * @param canvas the view canvas
@@ -1058,39 +1485,8 @@ public abstract class ScGauge extends ScDrawer
             this.mSelectedPointer.setPressed(this.isPressed());
         }
 
-        // Set the connected progress features properties
-        List<ScFeature> progresses = this.findFeatures(null, ScGauge.PROGRESS_IDENTIFIER);
-        for (ScFeature progress : progresses) {
-            progress.setEndTo(this.mHighValueAnimated);
-            progress.setStartAt(this.mLowValueAnimated);
-        }
-
-        // Set the connected pointers features properties
-        List<ScFeature> pointers = this.findFeatures(ScPointer.class, null);
-        for (ScFeature pointer : pointers) {
-            // Cast to right class
-            ScPointer casted = (ScPointer) pointer;
-            // Select
-            switch (pointer.getTag()) {
-                case ScGauge.HIGH_POINTER_IDENTIFIER:
-                    casted.setDistance(this.mHighValueAnimated);
-                    break;
-
-                case ScGauge.LOW_POINTER_IDENTIFIER:
-                    casted.setDistance(this.mLowValueAnimated);
-                    break;
-            }
-        }
-
-        // Set the connected labeler features properties
-        List<ScFeature> labelers = this.findFeatures(ScLabeler.class, null);
-        for (ScFeature labeler : labelers) {
-            // Cast to right class
-            ScLabeler casted = (ScLabeler) labeler;
-            // Set the distance only if this labeler still linked with the progress
-            if (casted.getLinkedToProgress())
-                casted.setDistance(this.mHighValueAnimated);
-        }
+        // Move the features on the current values
+        this.syncFeatures();
 
         // Call the base drawing method
         super.onDraw(canvas);
@@ -1329,6 +1725,32 @@ public abstract class ScGauge extends ScDrawer
     }
 
 
+    /**
+     * Post the progress high value in percentage from the path start.
+     * Can be called from any thread and at any rate: only the latest value posted will be
+     * applied on the UI thread at the next frame.
+     * @param percentage the new value in percentage
+     */
+    @SuppressWarnings("unused")
+    public void postHighValue(float percentage) {
+        this.postToMailbox(this.mHighValueMailbox, percentage);
+    }
+
+    /**
+     * Post the progress high value but based on a values range.
+     * Can be called from any thread.
+     * @param value         the value to convert
+     * @param startRange    the start value
+     * @param endRange      the end value
+     */
+    @SuppressWarnings("unused")
+    public void postHighValue(float value, float startRange, float endRange) {
+        // Find the relative percentage
+        float percentage = ScGauge.valueToPercentage(value, startRange, endRange);
+        // Call the base method
+        this.postHighValue(percentage);
+    }
+
     /**
      * Set the progress high value but based on a values range.
      * @param value         the value to convert
@@ -1375,6 +1797,32 @@ public abstract class ScGauge extends ScDrawer
     }
 
 
+    /**
+     * Post the progress low value in percentage from the path start.
+     * Can be called from any thread and at any rate: only the latest value posted will be
+     * applied on the UI thread at the next frame.
+     * @param percentage the new value in percentage
+     */
+    @SuppressWarnings("unused")
+    public void postLowValue(float percentage) {
+        this.postToMailbox(this.mLowValueMailbox, percentage);
+    }
+
+    /**
+     * Post the progress low value but based on a values range.
+     * Can be called from any thread.
+     * @param value         the value to convert
+     * @param startRange    the start value
+     * @param endRange      the end value
+     */
+    @SuppressWarnings("unused")
+    public void postLowValue(float value, float startRange, float endRange) {
+        // Find the relative percentage
+        float percentage = ScGauge.valueToPercentage(value, startRange, endRange);
+        // Call the base method
+        this.postLowValue(percentage);
+    }
+
     /**
      * Set the progress low value but based on a values range.
      * @param value         the value to convert
@@ -1475,6 +1923,44 @@ public abstract class ScGauge extends ScDrawer
     }
 
 
+    /**
+     * Set if the values must be animated by the animation clock shared by all the gauges.
+     * The shared clock advance all the animating gauges inside one frame callback and stop to
+     * post callbacks when nothing is animating.
+     * The duration and the interpolator used are the same of the high and low value animators.
+     * Before Jelly Bean this setting is ignored and the values are animated by the animators.
+     * @param value true to use the shared clock
+     */
+    @SuppressWarnings("unused")
+    public void setSharedAnimation(boolean value) {
+        // Check if value is changed
+        if (this.mSharedAnimation != value) {
+            // Fix the trigger
+            this.mSharedAnimation = value;
+
+            // Stop the current animations
+            if (value) {
+                this.removeCallbacks(this.mHighValueStarter);
+                this.removeCallbacks(this.mLowValueStarter);
+                this.mHighValueAnimator.cancel();
+                this.mLowValueAnimator.cancel();
+            } else {
+                this.stopSharedAnimation();
+            }
+            this.invalidate();
+        }
+    }
+
+    /**
+     * Get if the values are animated by the animation clock shared by all the gauges.
+     * @return true if use the shared clock
+     */
+    @SuppressWarnings("unused")
+    public boolean getSharedAnimation() {
+        return this.mSharedAnimation;
+    }
+
+
     // ***************************************************************************************
     // Public listener and interface
 
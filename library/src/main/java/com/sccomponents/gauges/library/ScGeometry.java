@@ -0,0 +1,194 @@
+package com.sccomponents.gauges.library;
+
+import android.graphics.Path;
+import android.graphics.RectF;
+
+
+/**
+ * Define the geometry engine used to measure a path.
+ * All the distances are referred to the path start and consider all the path contours.
+ * The ScPathMeasure implement it by a points approximation of the path while others engines
+ * can implement it in a different way, for example by the equations of the drawn shape.
+ *
+ * @author Samuele Carassai
+ * @version 3.5.0
+ * @since 2016-05-26
+ */
+public interface ScGeometry {
+
+    // ***************************************************************************************
+    // Path
+
+    /**
+     * Set the path to measure.
+     * @param path          the source path
+     * @param forceClosed   force to close
+     */
+    void setPath(Path path, boolean forceClosed);
+
+    /**
+     * Get the source path.
+     * @return a Path
+     */
+    Path getPath();
+
+    /**
+     * Get the source path, between all contours, where the distance fall.
+     * @param distance  the distance from the path start
+     * @return          a Path or null if not found
+     */
+    Path getPath(float distance);
+
+    /**
+     * Get the source path given an contour index.
+     * @param index the contour index
+     * @return      a Path or null if not found
+     */
+    Path getPath(int index);
+
+
+    // ***************************************************************************************
+    // Measures
+
+    /**
+     * Get the length of a path considering all the contours.
+     * @return the path length
+     */
+    float getLength();
+
+    /**
+     * Check if the path is closed.
+     * @return true if closed
+     */
+    boolean isClosed();
+
+    /**
+     * Computes the position and the tangent at the passed distance.
+     * @param distance  the distance from the path start
+     * @param pos       If not null, returns the sampled position (x==[0], y==[1])
+     * @param tan       If not null, returns the sampled tangent (x==[0], y==[1])
+     * @return          false if there was no path
+     */
+    boolean getPosTan(float distance, float[] pos, float[] tan);
+
+    /**
+     * Given a start and stop distance, return in dst the intervening segment(s).
+     * @param startD            the start distance
+     * @param stopD             the end distance
+     * @param dst               the destination path
+     * @param startWithMoveTo   start with a moveTo calling
+     * @return                  false if the segment is zero-length
+     */
+    boolean getSegment(float startD, float stopD, Path dst, boolean startWithMoveTo);
+
+    /**
+     * Get the path bounds.
+     * @return the path boundaries
+     */
+    RectF getBounds();
+
+    /**
+     * Calculate all the structures derived from the path that otherwise will be calculated
+     * on the first access.
+     */
+    void prepare();
+
+
+    // ***************************************************************************************
+    // Nearest point
+
+    /**
+     * Find the distance (from path start) of point nearest to the passed one considering
+     * only the area defined by the threshold parameter.
+     * @param x         the x of point
+     * @param y         the y of point
+     * @param threshold the threshold to define the checking area
+     * @return          return -1 if the point is not on the path else the distance of the point from start
+     */
+    float getPositionOnPath(float x, float y, float threshold);
+
+    /**
+     * Check if the passed point is on the path the threshold parameter define the checking
+     * tolerance.
+     * @param x         the x of point
+     * @param y         the y of point
+     * @param threshold the threshold to define the checking area
+     * @return          true if contain
+     */
+    boolean contains(float x, float y, float threshold);
+
+
+    // ***************************************************************************************
+    // Contours
+
+    /**
+     * Get the contours count
+     * @return the count
+     */
+    int countContours();
+
+    /**
+     * Find the indexed contour
+     * @param index the index to find
+     * @return the contour global distance from the path start or -1 if not found
+     */
+    float moveToContour(int index);
+
+    /**
+     * Find the contour where the distance fall
+     * @param distance the distance from path start
+     * @return the contour global distance from the path start or -1 if not found
+     */
+    float moveToContour(float distance);
+
+
+    // ***************************************************************************************
+    // Cursor
+
+    /**
+     * Create a cursor for query the positions on the path in sequence.
+     * @return a new cursor
+     */
+    ScPathCursor createCursor();
+
+
+    // ***************************************************************************************
+    // Approximation
+
+    /**
+     * Get the number of points of the path approximation.
+     * @return the points count
+     */
+    int getApproximationCount();
+
+    /**
+     * Get the distance from the path start of a point of the path approximation.
+     * @param index the point index
+     * @return      the distance
+     */
+    float getApproximationDistance(int index);
+
+    /**
+     * Get the point at the passed distance.
+     * @param distance  the distance from the path start
+     * @param point     the array where will save the point info: x, y and angle in degrees
+     * @return          false if the path is empty
+     */
+    boolean getInterpolatedPoint(float distance, float[] point);
+
+    /**
+     * Read a point of the path approximation.
+     * @param index the point index
+     * @param point the array where will save the point info: x, y and angle in degrees
+     */
+    void getApproximationPoint(int index, float[] point);
+
+    /**
+     * Get a copy of the path points approximation.
+     * The points are stored in sequence: x, y and angle in degrees for each point.
+     * @param destination the array where to copy the approximation, can be null
+     * @return the array holding the copy
+     */
+    float[] copyApproximation(float[] destination);
+
+}
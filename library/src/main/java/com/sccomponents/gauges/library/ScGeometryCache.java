@@ -0,0 +1,116 @@
+package com.sccomponents.gauges.library;
+
+import java.util.HashMap;
+
+
+/**
+ * Hold the geometries shared by the identical drawers.
+ * Every geometry is stored with a key defined by the parameters used to create the path and a
+ * reference counter. When the last drawer release the geometry it will be removed.
+ * The geometries shared must be considered immutable: nobody can change their path.
+ *
+ * @author Samuele Carassai
+ * @version 3.5.0
+ * @since 2016-05-26
+ */
+public class ScGeometryCache {
+
+    // ***************************************************************************************
+    // Constants
+
+    private static final HashMap<Object, Entry> ENTRIES = new HashMap<>();
+
+
+    // ***************************************************************************************
+    // Classes
+
+    /**
+     * A geometry and the number of its references
+     */
+    private static class Entry {
+        private ScGeometry geometry;
+        private int references;
+
+        public Entry(ScGeometry geometry) {
+            this.geometry = geometry;
+            this.references = 1;
+        }
+    }
+
+
+    // ***************************************************************************************
+    // Constructor
+
+    private ScGeometryCache() {
+        // Only static methods
+    }
+
+
+    // ***************************************************************************************
+    // Public methods
+
+    /**
+     * Get the geometry stored with the key adding a reference.
+     * @param key   the key
+     * @return      the geometry or null if not found
+     */
+    @SuppressWarnings({"unused", "WeakerAccess"})
+    public static synchronized ScGeometry acquire(Object key) {
+        // Check for empty values
+        Entry entry = key == null ? null: ScGeometryCache.ENTRIES.get(key);
+        if (entry == null)
+            return null;
+
+        // Add a reference
+        entry.references ++;
+        return entry.geometry;
+    }
+
+    /**
+     * Store the geometry with the key and a reference.
+     * If the key is already stored the geometry already stored will be returned and acquired
+     * in place of the passed one.
+     * @param key       the key
+     * @param geometry  the geometry
+     * @return          the geometry shared
+     */
+    @SuppressWarnings({"unused", "WeakerAccess"})
+    public static synchronized ScGeometry put(Object key, ScGeometry geometry) {
+        // Check if already stored
+        ScGeometry stored = ScGeometryCache.acquire(key);
+        if (stored != null)
+            return stored;
+
+        // Store
+        ScGeometryCache.ENTRIES.put(key, new Entry(geometry));
+        return geometry;
+    }
+
+    /**
+     * Remove a reference to the geometry stored with the key.
+     * The geometry will be removed when not have more references.
+     * @param key the key
+     */
+    @SuppressWarnings({"unused", "WeakerAccess"})
+    public static synchronized void release(Object key) {
+        // Check for empty values
+        Entry entry = key == null ? null: ScGeometryCache.ENTRIES.get(key);
+        if (entry == null)
+            return ;
+
+        // Remove a reference
+        entry.references --;
+        if (entry.references <= 0)
+            ScGeometryCache.ENTRIES.remove(key);
+    }
+
+    /**
+     * Get the number of geometries stored.
+     * @return the count
+     */
+    @SuppressWarnings({"unused"})
+    public static synchronized int size() {
+        return ScGeometryCache.ENTRIES.size();
+    }
+
+}
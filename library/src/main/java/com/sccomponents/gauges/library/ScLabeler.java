@@ -2,7 +2,6 @@ package com.sccomponents.gauges.library;
 
 import android.graphics.Paint;
 
-import java.text.DecimalFormat;
 import java.util.Arrays;
 
 
@@ -29,6 +28,10 @@ public class ScLabeler extends ScWriter {
     private String mFormat;
     private String[] mTokens;
 
+    private ScNumberFormat mNumberFormat;
+    private float mLastValue;
+    private String mLastText;
+
     private LabelInfo mRepetitionInfo;
 
 
@@ -140,6 +143,39 @@ public class ScLabeler extends ScWriter {
         }
     }
 
+    /**
+     * Get the max distance from the path that the label can reach.
+     * If linked to the progress the label draw the formatted value in place of the tokens
+     * so will be measured the text currently drawn.
+     * @return the distance
+     */
+    @Override
+    protected float getDrawingExtent() {
+        // Check if linked
+        if (this.mLinkedToProgress)
+            return this.getTextsExtent(
+                    new String[] { this.getFormattedNumber(this.getDistance()) });
+
+        // Super
+        return super.getDrawingExtent();
+    }
+
+    /**
+     * Get the impact on the drawing of a property change.
+     * @param name  the property name
+     * @return      the impact
+     */
+    @Override
+    public PropertyImpact getPropertyImpact(String name) {
+        // The distance only move the labels on the path but, if linked to the progress,
+        // change the text too.
+        if ("distance".equals(name))
+            return this.mLinkedToProgress ? PropertyImpact.GEOMETRY: PropertyImpact.TRANSFORM;
+
+        // Super
+        return super.getPropertyImpact(name);
+    }
+
 
     // ***************************************************************************************
     // Public methods
@@ -169,13 +205,19 @@ public class ScLabeler extends ScWriter {
      */
     @SuppressWarnings({"unused", "WeakerAccess"})
     public String getFormattedNumber(float value) {
+        // If the value is not changed return the last formatted text
+        if (this.mLastText != null && Float.compare(this.mLastValue, value) == 0)
+            return this.mLastText;
+
         // Check the pattern and format
-        if (this.mFormat == null || this.mFormat.isEmpty())
-            return Float.toString(value);
+        if (this.mNumberFormat == null)
+            this.mLastText = Float.toString(value);
+        else
+            this.mLastText = this.mNumberFormat.format(value);
 
-        // Else
-        DecimalFormat formatter = new DecimalFormat(this.mFormat);
-        return formatter.format(value);
+        // Save the value
+        this.mLastValue = value;
+        return this.mLastText;
     }
 
 
@@ -219,6 +261,12 @@ public class ScLabeler extends ScWriter {
         // Store the value
         if (!this.equals(this.mFormat, value)) {
             this.mFormat = value;
+
+            // Compile the pattern and forget the last formatted text
+            this.mNumberFormat = value == null || value.isEmpty() ?
+                    null: new ScNumberFormat(value);
+            this.mLastText = null;
+
             this.onPropertyChange("format", value);
         }
     }
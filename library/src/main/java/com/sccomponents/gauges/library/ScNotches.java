@@ -2,14 +2,16 @@ package com.sccomponents.gauges.library;
 
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
-import android.graphics.Color;
 import android.graphics.ColorFilter;
 import android.graphics.LightingColorFilter;
+import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.RectF;
 import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
+import android.util.LruCache;
+import android.util.SparseArray;
 
 import java.util.Arrays;
 
@@ -56,6 +58,25 @@ public class ScNotches extends ScRepetitions {
     }
 
 
+    // ***************************************************************************************
+    // Constants
+
+    private static final int BITMAP_CACHE_SIZE = 4 * 1024 * 1024;
+    private static final int FILTER_CACHE_SIZE = 256;
+
+    // The scaled bitmaps shared between all the notches.
+    // The size of the cache is measured in bytes and, as the keys hold the source bitmaps,
+    // every entry count the source bitmap too. A source scaled many times will be counted
+    // many times so the cache could hold less memory than its size but never more.
+    private static final LruCache<BitmapKey, Bitmap> BITMAP_CACHE =
+            new LruCache<BitmapKey, Bitmap>(ScNotches.BITMAP_CACHE_SIZE) {
+                @Override
+                protected int sizeOf(BitmapKey key, Bitmap value) {
+                    return value.getByteCount() + key.sourceSize;
+                }
+            };
+
+
     // ***************************************************************************************
     // Private and protected variables
 
@@ -68,7 +89,8 @@ public class ScNotches extends ScRepetitions {
     private Bitmap mBitmap;
     private Drawable mDrawable;
 
-    private int mLastColor;
+    private BitmapKey mBitmapKey;
+    private SparseArray<ColorFilter> mColorFilters;
     private float[] mFirstPoint;
     private float[] mSecondPoint;
     private RectF mGenericRect;
@@ -78,6 +100,16 @@ public class ScNotches extends ScRepetitions {
 
     private NotchInfo mRepetitionInfo;
 
+    // Batch drawing
+    private boolean mBatchDrawing;
+    private int mBatchCount;
+    private int mBatchColor;
+    private float mBatchWidth;
+    private NotchTypes mBatchType;
+    private float[] mBatchLines;
+    private Path mBatchPath;
+    private Matrix mBatchMatrix;
+
 
     // ***************************************************************************************
     // Constructor
@@ -96,7 +128,14 @@ public class ScNotches extends ScRepetitions {
         this.mType = NotchTypes.LINE;
         this.mRepetitionInfo = new NotchInfo();
 
-        this.mLastColor = Color.TRANSPARENT;
+        this.mBatchDrawing = false;
+        this.mBatchCount = 0;
+        this.mBatchLines = new float[0];
+        this.mBatchPath = new Path();
+        this.mBatchMatrix = new Matrix();
+
+        this.mBitmapKey = new BitmapKey();
+        this.mColorFilters = new SparseArray<>();
         this.mFirstPoint = new float[2];
         this.mSecondPoint = new float[2];
         this.mGenericRect = new RectF();
@@ -146,23 +185,49 @@ public class ScNotches extends ScRepetitions {
     }
 
     /**
-     * Change the color of given bitmap
-     * @param sourceBitmap source
-     * @param color new color
-     * @return new bitmap
+     * Get the source bitmap scaled to the passed dimensions.
+     * The scaled bitmaps are cached so the same bitmap will not be created again.
+     * @param source    the source bitmap
+     * @param width     the width
+     * @param height    the height
+     * @return          the scaled bitmap
      */
-    private Bitmap changeBitmapColor(Bitmap sourceBitmap, int color) {
-        // Define the painter
-        ColorFilter filter = new LightingColorFilter(color, 1);
-        this.mGenericPaint.setColorFilter(filter);
-
-        // Copy the fixed color bitmap
-        Bitmap resultBitmap = sourceBitmap.copy(sourceBitmap.getConfig(), true);
-        this.mGenericCanvas.setBitmap(resultBitmap);
-        this.mGenericCanvas.drawBitmap(resultBitmap, 0, 0, this.mGenericPaint);
+    private Bitmap getScaledBitmap(Bitmap source, int width, int height) {
+        // Check for empty values
+        if (width <= 0 || height <= 0 ||
+                (source.getWidth() == width && source.getHeight() == height))
+            return source;
+
+        // Find the bitmap inside the cache using the probe key
+        this.mBitmapKey.set(source, width, height);
+        Bitmap scaled = ScNotches.BITMAP_CACHE.get(this.mBitmapKey);
+
+        // If not exists create it and store in the cache with a new key
+        if (scaled == null) {
+            scaled = Bitmap.createScaledBitmap(source, width, height, false);
+            ScNotches.BITMAP_CACHE.put(new BitmapKey(source, width, height), scaled);
+        }
+        return scaled;
+    }
 
-        // Return
-        return resultBitmap;
+    /**
+     * Get the filter to change the color of a bitmap at drawing time.
+     * @param color the new color
+     * @return      the color filter
+     */
+    private ColorFilter getColorFilter(int color) {
+        // Find the filter inside the cache
+        ColorFilter filter = this.mColorFilters.get(color);
+        if (filter == null) {
+            // Limit the cache size
+            if (this.mColorFilters.size() >= ScNotches.FILTER_CACHE_SIZE)
+                this.mColorFilters.clear();
+
+            // Create the filter
+            filter = new LightingColorFilter(color, 1);
+            this.mColorFilters.put(color, filter);
+        }
+        return filter;
     }
 
 
@@ -171,7 +236,7 @@ public class ScNotches extends ScRepetitions {
 
     /**
      * Draw on canvas a bitmap centered in the passed point.
-     * Change the color of the bitmap could be very expensive in term of performance.
+     * The bitmap color is changed by the painter filter so no new bitmap will be created.
      * @param canvas where to draw
      * @param info   the pointer info
      */
@@ -180,31 +245,18 @@ public class ScNotches extends ScRepetitions {
         if (info.bitmap == null)
             return;
 
-        // Scale the original bitmap
-        Bitmap scaled = info.bitmap;
-        if (info.width != 0 && info.height != 0)
-            scaled = Bitmap.createScaledBitmap(
-                    info.bitmap,
-                    (int) info.width,
-                    (int) info.height,
-                    false);
+        // Get the scaled bitmap
+        Bitmap scaled = this.getScaledBitmap(info.bitmap, (int) info.width, (int) info.height);
 
         // Adjust the first point
         this.mFirstPoint[0] -= scaled.getWidth() / 2.0f;
         this.mFirstPoint[1] -= scaled.getHeight() / 2.0f;
 
-        // Change the bitmap color only if needs
-        int currentColor = paint.getColor();
-        if (this.mLastColor != currentColor) {
-            // Save the last color
-            this.mLastColor = currentColor;
-
-            // Redraw the bitmap with the new color
-            scaled = this.changeBitmapColor(scaled, currentColor);
-        }
+        // Change the bitmap color at drawing time
+        this.mGenericPaint.setColorFilter(this.getColorFilter(paint.getColor()));
 
         // Print the bitmap centered respect the point
-        canvas.drawBitmap(scaled, this.mFirstPoint[0], this.mFirstPoint[1], null);
+        canvas.drawBitmap(scaled, this.mFirstPoint[0], this.mFirstPoint[1], this.mGenericPaint);
     }
 
     /**
@@ -268,11 +320,11 @@ public class ScNotches extends ScRepetitions {
     }
 
     /**
-     * Draw a triangle.
-     * @param canvas the canvas to draw
+     * Create the triangle shape path.
      * @param info   the notch info
+     * @param path   the path where save the shape
      */
-    protected void drawTriangle(Canvas canvas, NotchInfo info, Paint paint) {
+    private void createTrianglePath(NotchInfo info, Path path) {
         // Holder
         float halfWidth = info.width / 2;
         float halfHeight = info.height / 2;
@@ -281,30 +333,40 @@ public class ScNotches extends ScRepetitions {
         float y = this.mFirstPoint[1];
 
         // Create the shape path
-        this.mGenericPath.reset();
+        path.reset();
 
         switch (info.position) {
             case INSIDE:
-                this.mGenericPath.moveTo(x, y);
-                this.mGenericPath.lineTo(x + halfWidth, y - info.height);
-                this.mGenericPath.lineTo(x - halfWidth, y - info.height);
-                this.mGenericPath.lineTo(x, y);
+                path.moveTo(x, y);
+                path.lineTo(x + halfWidth, y - info.height);
+                path.lineTo(x - halfWidth, y - info.height);
+                path.lineTo(x, y);
                 break;
 
             case MIDDLE:
-                this.mGenericPath.moveTo(x + halfWidth, y);
-                this.mGenericPath.lineTo(x - halfWidth, y - halfHeight);
-                this.mGenericPath.lineTo(x - halfWidth, y + halfHeight);
-                this.mGenericPath.lineTo(x, y);
+                path.moveTo(x + halfWidth, y);
+                path.lineTo(x - halfWidth, y - halfHeight);
+                path.lineTo(x - halfWidth, y + halfHeight);
+                path.lineTo(x, y);
                 break;
 
             case OUTSIDE:
-                this.mGenericPath.moveTo(x, y);
-                this.mGenericPath.lineTo(x + halfWidth, y + info.height);
-                this.mGenericPath.lineTo(x - halfWidth, y + info.height);
-                this.mGenericPath.lineTo(x, y);
+                path.moveTo(x, y);
+                path.lineTo(x + halfWidth, y + info.height);
+                path.lineTo(x - halfWidth, y + info.height);
+                path.lineTo(x, y);
                 break;
         }
+    }
+
+    /**
+     * Draw a triangle.
+     * @param canvas the canvas to draw
+     * @param info   the notch info
+     */
+    protected void drawTriangle(Canvas canvas, NotchInfo info, Paint paint) {
+        // Create the shape path
+        this.createTrianglePath(info, this.mGenericPath);
 
         // Draw
         canvas.drawPath(this.mGenericPath, paint);
@@ -314,8 +376,9 @@ public class ScNotches extends ScRepetitions {
      * Adjust the point based on the edges management
      * @param point    the point to adjust
      * @param distance the distance of the point from the path start
+     * @param width    the notch width
      */
-    private void adjustPointByEdges(float[] point, float distance) {
+    private void adjustPointByEdges(float[] point, float distance, float width) {
         // Check for domain
         if (this.getEdges() == Positions.MIDDLE)
             return;
@@ -325,7 +388,7 @@ public class ScNotches extends ScRepetitions {
         if (distance != middle) {
             // Holders
             float multiplier = 0.0f;
-            float halfWidth = this.getPainter().getStrokeWidth() / 2;
+            float halfWidth = width / 2;
 
             // If the distance is before the middle path calculate the modifier respect at
             // the first middle else on the second.
@@ -348,27 +411,28 @@ public class ScNotches extends ScRepetitions {
     }
 
     /**
-     * Draw a single notch.
-     * @param canvas where to draw
-     * @param info   the notch info
+     * Check if the notch type is a filled shape.
+     * @param type  the notch type
+     * @return      true if filled
      */
-    private void drawNotch(Canvas canvas, NotchInfo info) {
-        // Apply the current info settings to the painter
-        boolean isFilled =
-                info.type == NotchTypes.OVAL_FILLED ||
-                        info.type == NotchTypes.RECTANGLE_FILLED ||
-                        info.type == NotchTypes.TRIANGLE_FILLED;
-
-        Paint painter = this.getPainter();
-        painter.setStyle(
-                isFilled ? Paint.Style.FILL : Paint.Style.STROKE);
-
-        // Set the stroke width
-        painter.setStrokeWidth(info.width);
+    private boolean isFilled(NotchTypes type) {
+        return type == NotchTypes.OVAL_FILLED ||
+                type == NotchTypes.RECTANGLE_FILLED ||
+                type == NotchTypes.TRIANGLE_FILLED;
+    }
 
-        // Get the point by the distance
-        this.getPoint(info.distance, this.mFirstPoint);
-        this.adjustPointByEdges(this.mFirstPoint, info.distance);
+    /**
+     * Find the notch center point and save it inside the first point holder.
+     * @param info   the notch info
+     */
+    private void findNotchPoint(NotchInfo info) {
+        // Get the point already calculated by the distance.
+        // If the draw listener moved the notch the point must be calculated again.
+        if (info.isPointAtDistance())
+            this.clonePoint(info.point, this.mFirstPoint);
+        else
+            this.getPointAndAngle(info.distance, this.mFirstPoint);
+        this.adjustPointByEdges(this.mFirstPoint, info.distance, info.width);
 
         // Get and fix the y point position
         switch (this.getPosition()) {
@@ -379,6 +443,24 @@ public class ScNotches extends ScRepetitions {
                 this.mFirstPoint[1] -= info.height / 2;
                 break;
         }
+    }
+
+    /**
+     * Draw a single notch.
+     * @param canvas where to draw
+     * @param info   the notch info
+     */
+    private void drawNotch(Canvas canvas, NotchInfo info) {
+        // Apply the current info settings to the painter
+        Paint painter = this.getPainter();
+        painter.setStyle(
+                this.isFilled(info.type) ? Paint.Style.FILL : Paint.Style.STROKE);
+
+        // Set the stroke width
+        painter.setStrokeWidth(info.width);
+
+        // Find the notch center
+        this.findNotchPoint(info);
 
         // Draw the notches by the case
         switch (info.type) {
@@ -412,6 +494,65 @@ public class ScNotches extends ScRepetitions {
         }
     }
 
+    /**
+     * Add a line notch to the batch.
+     * The line points are transformed by the batch matrix and appended to the lines array.
+     * @param info   the notch info
+     */
+    private void batchLine(NotchInfo info) {
+        // Check the capacity
+        int index = this.mBatchCount * 4;
+        if (this.mBatchLines.length < index + 4)
+            this.mBatchLines = Arrays.copyOf(this.mBatchLines, Math.max(16, (index + 4) * 2));
+
+        // Find the points as drawLine do
+        this.mBatchLines[index] = this.mFirstPoint[0];
+        this.mBatchLines[index + 1] = this.mFirstPoint[1] - info.height / 2;
+        this.mBatchLines[index + 2] = this.mFirstPoint[0];
+        this.mBatchLines[index + 3] = this.mFirstPoint[1] + info.height / 2;
+
+        // Transform
+        this.mBatchMatrix.mapPoints(this.mBatchLines, index, this.mBatchLines, index, 2);
+    }
+
+    /**
+     * Add a shape notch to the batch.
+     * The shape is transformed by the batch matrix and merged with the batch path.
+     * @param info   the notch info
+     */
+    private void batchShape(NotchInfo info) {
+        // Holder
+        float halfWidth = info.width / 2;
+        float halfHeight = info.height / 2;
+        this.mGenericRect.set(
+                this.mFirstPoint[0] - halfWidth, this.mFirstPoint[1] - halfHeight,
+                this.mFirstPoint[0] + halfWidth, this.mFirstPoint[1] + halfHeight
+        );
+
+        // Create the shape path
+        switch (info.type) {
+            case OVAL:
+            case OVAL_FILLED:
+                this.mGenericPath.reset();
+                this.mGenericPath.addOval(this.mGenericRect, Path.Direction.CW);
+                break;
+
+            case RECTANGLE:
+            case RECTANGLE_FILLED:
+                this.mGenericPath.reset();
+                this.mGenericPath.addRect(this.mGenericRect, Path.Direction.CW);
+                break;
+
+            case TRIANGLE:
+            case TRIANGLE_FILLED:
+                this.createTrianglePath(info, this.mGenericPath);
+                break;
+        }
+
+        // Merge
+        this.mBatchPath.addPath(this.mGenericPath, this.mBatchMatrix);
+    }
+
 
     // ***************************************************************************************
     // Overrides
@@ -441,6 +582,112 @@ public class ScNotches extends ScRepetitions {
         this.drawNotch(canvas, (NotchInfo) info);
     }
 
+    /**
+     * Add the notch to the current batch.
+     * The notch geometry is transformed by the repetition settings and merged with the
+     * previous notches having the same color, width and type.
+     * The bitmap notches and the scaled notches cannot be batched.
+     * @param canvas    where draw
+     * @param info      the repetition info
+     * @return          false if the notch must be drawn directly
+     * @hide
+     */
+    @Override
+    protected boolean batchRepetition(Canvas canvas, RepetitionInfo info) {
+        // Check the domain
+        if (!this.mBatchDrawing)
+            return false;
+
+        // The bitmaps and the scaled notches must be drawn directly.
+        // The batch is drawn before for keep the drawing order.
+        NotchInfo notch = (NotchInfo) info;
+        if (notch.type == NotchTypes.BITMAP || notch.scale[0] != 1.0f || notch.scale[1] != 1.0f) {
+            this.flushBatch(canvas);
+            return false;
+        }
+
+        // If the notch settings are different from the current batch draw it and start a
+        // new one.
+        if (this.mBatchCount > 0 && (this.mBatchColor != notch.color ||
+                this.mBatchWidth != notch.width || this.mBatchType != notch.type))
+            this.flushBatch(canvas);
+
+        this.mBatchColor = notch.color;
+        this.mBatchWidth = notch.width;
+        this.mBatchType = notch.type;
+
+        // Create the repetition matrix applying the same transformations of the canvas
+        float x = notch.point[0];
+        float y = notch.point[1];
+        this.mBatchMatrix.setRotate(notch.tangent, x, y);
+        this.mBatchMatrix.preTranslate(notch.offset[0], notch.offset[1]);
+        this.mBatchMatrix.preRotate(notch.angle, x, y);
+
+        // Find the notch center and add it to the batch
+        this.findNotchPoint(notch);
+        if (notch.type == NotchTypes.LINE)
+            this.batchLine(notch);
+        else
+            this.batchShape(notch);
+
+        // Added
+        this.mBatchCount ++;
+        return true;
+    }
+
+    /**
+     * Draw all the notches held by the current batch in a single call.
+     * @param canvas where draw
+     * @hide
+     */
+    @Override
+    protected void flushBatch(Canvas canvas) {
+        // Check for empty values
+        if (this.mBatchCount == 0)
+            return ;
+
+        // Apply the batch settings to the painter
+        Paint painter = this.getPainter();
+        painter.setColor(this.mBatchColor);
+        painter.setStrokeWidth(this.mBatchWidth);
+        painter.setStyle(
+                this.isFilled(this.mBatchType) ? Paint.Style.FILL : Paint.Style.STROKE);
+
+        // Draw
+        if (this.mBatchType == NotchTypes.LINE)
+            canvas.drawLines(this.mBatchLines, 0, this.mBatchCount * 4, painter);
+        else
+            canvas.drawPath(this.mBatchPath, painter);
+
+        // Reset the batch
+        this.mBatchPath.rewind();
+        this.mBatchCount = 0;
+    }
+
+    /**
+     * Get the max distance from the path that the notches can reach.
+     * The notches can be moved by its height and drawn with a stroke large as its width.
+     * @return the distance
+     */
+    @Override
+    protected float getDrawingExtent() {
+        // Find the max dimensions
+        float extent = 0.0f;
+        if (this.mWidths != null)
+            for (float width : this.mWidths)
+                extent = Math.max(extent, width);
+        if (this.mHeights != null)
+            for (float height : this.mHeights)
+                extent = Math.max(extent, height);
+
+        // The bitmap could be drawn with its own dimensions
+        if (this.mType == NotchTypes.BITMAP && this.mBitmap != null)
+            extent = Math.max(extent, Math.max(this.mBitmap.getWidth(), this.mBitmap.getHeight()));
+
+        // Double for consider the position and the stroke
+        return extent * 2.0f;
+    }
+
 
     // ***************************************************************************************
     // Public Methods
@@ -527,6 +774,7 @@ public class ScNotches extends ScRepetitions {
         destination.setType(this.mType);
         destination.setBitmap(this.mBitmap);
         destination.setDrawable(this.mDrawable);
+        destination.setBatchDrawing(this.mBatchDrawing);
     }
 
     /**
@@ -763,6 +1011,32 @@ public class ScNotches extends ScRepetitions {
     }
 
 
+    /**
+     * Set the batch drawing status.
+     * If true the notches having the same color, width and type will be merged and drawn with
+     * a single call to the canvas. This reduce a lot the drawing time of the dense scales.
+     * NOTE that the batched notches not pass through the onDraw method and the bitmap or
+     * scaled notches will always drawn one by one.
+     * @param value the status
+     */
+    @SuppressWarnings("unused")
+    public void setBatchDrawing(boolean value) {
+        if (this.mBatchDrawing != value) {
+            this.mBatchDrawing = value;
+            this.onPropertyChange("batchDrawing", value);
+        }
+    }
+
+    /**
+     * Get the batch drawing status.
+     * @return the status
+     */
+    @SuppressWarnings("unused")
+    public boolean getBatchDrawing() {
+        return this.mBatchDrawing;
+    }
+
+
     // ***************************************************************************************
     // Public classes and methods
 
@@ -805,4 +1079,60 @@ public class ScNotches extends ScRepetitions {
 
     }
 
+
+    /**
+     * The key to find a scaled bitmap inside the cache.
+     */
+    private static class BitmapKey {
+
+        // ***************************************************************************************
+        // Properties
+
+        private Bitmap source;
+        private int sourceSize;
+        private int width;
+        private int height;
+
+        // ***************************************************************************************
+        // Constructors
+
+        private BitmapKey() {
+        }
+
+        private BitmapKey(Bitmap source, int width, int height) {
+            this.set(source, width, height);
+            this.sourceSize = source.getByteCount();
+        }
+
+        // ***************************************************************************************
+        // Public methods
+
+        private void set(Bitmap source, int width, int height) {
+            this.source = source;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            // Check the type
+            if (!(object instanceof BitmapKey))
+                return false;
+
+            // Compare the source by reference
+            BitmapKey key = (BitmapKey) object;
+            return this.source == key.source &&
+                    this.width == key.width &&
+                    this.height == key.height;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = System.identityHashCode(this.source);
+            hash = 31 * hash + this.width;
+            return 31 * hash + this.height;
+        }
+
+    }
+
 }
@@ -0,0 +1,273 @@
+package com.sccomponents.gauges.library;
+
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+
+
+/**
+ * Format a number using a DecimalFormat pattern.
+ * The pattern is parsed only once by a DecimalFormat and its settings are compiled, so the
+ * most common patterns (fixed or optional decimals, grouping, percent, prefix and suffix) are
+ * formatted writing the digits inside a reused buffer.
+ * All the others patterns (exponent, negative sub pattern, secondary grouping, etc.) will be
+ * formatted by the DecimalFormat.
+ *
+ * @author Samuele Carassai
+ * @version 3.5.0
+ * @since 2016-05-26
+ */
+public class ScNumberFormat {
+
+    // ***************************************************************************************
+    // Constants
+
+    private static final int MAX_FRACTION_DIGITS = 9;
+    private static final int MAX_INTEGER_DIGITS = 16;
+    private static final double MAX_SCALED_VALUE = 1e15;
+
+
+    // ***************************************************************************************
+    // Private variables
+
+    private String mPattern;
+    private DecimalFormat mFormatter;
+    private boolean mIsCompiled;
+
+    private String mPrefix;
+    private String mSuffix;
+    private int mMultiplier;
+    private int mMinIntegerDigits;
+    private int mMinFractionDigits;
+    private int mMaxFractionDigits;
+    private int mGroupingSize;
+    private boolean mDecimalSeparatorAlwaysShown;
+
+    private char mZeroDigit;
+    private char mMinusSign;
+    private char mDecimalSeparator;
+    private char mGroupingSeparator;
+
+    private char[] mDigits;
+    private StringBuilder mBuilder;
+
+
+    // ***************************************************************************************
+    // Constructor
+
+    @SuppressWarnings({"unused", "WeakerAccess"})
+    public ScNumberFormat(String pattern) {
+        // Init
+        this.mPattern = pattern;
+        this.mBuilder = new StringBuilder();
+
+        // Create the formatter and try to compile its settings
+        this.mFormatter = new DecimalFormat(pattern);
+        this.mIsCompiled = this.compile();
+
+        // The buffer must contain all the digits of the max scaled value and the zeros
+        if (this.mIsCompiled)
+            this.mDigits = new char[this.mMinIntegerDigits + this.mMaxFractionDigits + 16];
+    }
+
+
+    // ***************************************************************************************
+    // Private methods
+
+    /**
+     * Find the secondary grouping size reading the distance between the last two grouping
+     * separators of the positive pattern integer part.
+     * The DecimalFormat not expose this setting but, on Android, is used to format the number.
+     * @param pattern   the pattern
+     * @return          the size or zero if not defined
+     */
+    private static int getSecondaryGroupingSize(String pattern) {
+        // Holders
+        boolean isQuoted = false;
+        int digits = 0;
+        int last = -1;
+        int previous = -1;
+
+        // Cycle all the chars until the end of the integer part
+        for (int index = 0; index < pattern.length(); index ++) {
+            // Skip the quoted text
+            char current = pattern.charAt(index);
+            if (current == '\'') {
+                isQuoted = !isQuoted;
+                continue;
+            }
+            if (isQuoted)
+                continue;
+
+            // Check the end of the integer part
+            if (current == ';' || current == '.' || current == 'E')
+                break;
+
+            // Count the digits and hold the grouping separators positions
+            if (current == '#' || (current >= '0' && current <= '9'))
+                digits ++;
+            else if (current == ',') {
+                previous = last;
+                last = digits;
+            }
+        }
+
+        // Return the distance
+        return previous == -1 ? 0: last - previous;
+    }
+
+    /**
+     * Compile the pattern reading the settings parsed by the formatter.
+     * @return false if the pattern is not supported
+     */
+    private boolean compile() {
+        // Holders
+        DecimalFormat formatter = this.mFormatter;
+        DecimalFormatSymbols symbols = formatter.getDecimalFormatSymbols();
+        String prefix = formatter.getPositivePrefix();
+        String suffix = formatter.getPositiveSuffix();
+
+        // Check the supported settings.
+        // The negative values must have the same prefix and suffix of the positive values
+        // preceded by the minus sign.
+        if (formatter.getRoundingMode() != RoundingMode.HALF_EVEN ||
+                formatter.toPattern().indexOf('E') != -1 ||
+                (formatter.getMultiplier() != 1 && formatter.getMultiplier() != 100) ||
+                formatter.getMaximumFractionDigits() > ScNumberFormat.MAX_FRACTION_DIGITS ||
+                formatter.getMaximumIntegerDigits() < ScNumberFormat.MAX_INTEGER_DIGITS ||
+                !formatter.getNegativePrefix().equals(symbols.getMinusSign() + prefix) ||
+                !formatter.getNegativeSuffix().equals(suffix))
+            return false;
+
+        // The secondary grouping, like in the indian numbering system, is not supported
+        int secondaryGroupingSize = ScNumberFormat.getSecondaryGroupingSize(this.mPattern);
+        if (formatter.isGroupingUsed() && secondaryGroupingSize > 0 &&
+                secondaryGroupingSize != formatter.getGroupingSize())
+            return false;
+
+        // Store the settings
+        this.mPrefix = prefix;
+        this.mSuffix = suffix;
+        this.mMultiplier = formatter.getMultiplier();
+        this.mMinIntegerDigits = formatter.getMinimumIntegerDigits();
+        this.mMinFractionDigits = formatter.getMinimumFractionDigits();
+        this.mMaxFractionDigits = formatter.getMaximumFractionDigits();
+        this.mGroupingSize = formatter.isGroupingUsed() ? formatter.getGroupingSize(): 0;
+        this.mDecimalSeparatorAlwaysShown = formatter.isDecimalSeparatorAlwaysShown();
+
+        // Get the symbols
+        this.mZeroDigit = symbols.getZeroDigit();
+        this.mMinusSign = symbols.getMinusSign();
+        this.mDecimalSeparator = symbols.getDecimalSeparator();
+        this.mGroupingSeparator = symbols.getGroupingSeparator();
+
+        // Compiled
+        return true;
+    }
+
+    /**
+     * Write the number inside the builder using the compiled pattern.
+     * @param value the value to format
+     * @return      false if the value cannot be formatted with the compiled pattern
+     */
+    private boolean write(double value) {
+        // Check the domain
+        if (Double.isNaN(value) || Double.isInfinite(value))
+            return false;
+
+        // Scale the value and round it using the same method of the DecimalFormat
+        boolean isNegative = value < 0 || (value == 0 && 1 / value < 0);
+        double scaled = Math.rint(Math.abs(value) * this.mMultiplier *
+                Math.pow(10, this.mMaxFractionDigits));
+        if (scaled >= ScNumberFormat.MAX_SCALED_VALUE)
+            return false;
+
+        // Write the digits from the last one
+        long number = (long) scaled;
+        int count = 0;
+        while (number > 0 || count < this.mMaxFractionDigits + this.mMinIntegerDigits) {
+            this.mDigits[count ++] = (char) (this.mZeroDigit + (number % 10));
+            number /= 10;
+        }
+
+        // Find how many fraction digits write removing the not needed zeros
+        int fractionDigits = this.mMaxFractionDigits;
+        while (fractionDigits > this.mMinFractionDigits &&
+                this.mDigits[this.mMaxFractionDigits - fractionDigits] == this.mZeroDigit)
+            fractionDigits --;
+
+        // Find how many integer digits write
+        int integerDigits = count - this.mMaxFractionDigits;
+        if (integerDigits > this.mMinIntegerDigits) {
+            // Remove the not needed zeros
+            while (integerDigits > this.mMinIntegerDigits &&
+                    this.mDigits[this.mMaxFractionDigits + integerDigits - 1] == this.mZeroDigit)
+                integerDigits --;
+        }
+
+        // Write the prefix
+        this.mBuilder.setLength(0);
+        if (isNegative)
+            this.mBuilder.append(this.mMinusSign);
+        this.mBuilder.append(this.mPrefix);
+
+        // Write the integer part
+        for (int index = integerDigits - 1; index >= 0; index --) {
+            this.mBuilder.append(this.mDigits[this.mMaxFractionDigits + index]);
+            if (this.mGroupingSize > 0 && index > 0 && index % this.mGroupingSize == 0)
+                this.mBuilder.append(this.mGroupingSeparator);
+        }
+
+        // If not have digits write a zero
+        if (integerDigits == 0 && fractionDigits == 0)
+            this.mBuilder.append(this.mZeroDigit);
+
+        // Write the fraction part
+        if (fractionDigits > 0 || this.mDecimalSeparatorAlwaysShown)
+            this.mBuilder.append(this.mDecimalSeparator);
+        for (int index = 0; index < fractionDigits; index ++)
+            this.mBuilder.append(this.mDigits[this.mMaxFractionDigits - 1 - index]);
+
+        // Write the suffix
+        this.mBuilder.append(this.mSuffix);
+        return true;
+    }
+
+
+    // ***************************************************************************************
+    // Public methods
+
+    /**
+     * Format the value.
+     * @param value the value to format
+     * @return      the formatted value
+     */
+    @SuppressWarnings({"unused", "WeakerAccess"})
+    public String format(float value) {
+        // Try to use the compiled pattern
+        if (this.mIsCompiled && this.write(value))
+            return this.mBuilder.toString();
+
+        // Else use the formatter
+        return this.mFormatter.format(value);
+    }
+
+    /**
+     * Get the pattern.
+     * @return the pattern
+     */
+    @SuppressWarnings({"unused"})
+    public String getPattern() {
+        return this.mPattern;
+    }
+
+    /**
+     * Check if the pattern is compiled or formatted by a DecimalFormat.
+     * @return true if compiled
+     */
+    @SuppressWarnings({"unused"})
+    public boolean isCompiled() {
+        return this.mIsCompiled;
+    }
+
+}
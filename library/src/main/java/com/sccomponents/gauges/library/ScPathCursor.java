@@ -0,0 +1,32 @@
+package com.sccomponents.gauges.library;
+
+
+/**
+ * Define a cursor moving along the path measured by a geometry.
+ * The cursor remember the last position found so, when the distances are requested in
+ * sequence (forward or backward), every query start from the last position in place of search
+ * it from the path start.
+ * The cursor follow the geometry changes but it is not thread safe: every caller must use its
+ * own cursor.
+ *
+ * @author Samuele Carassai
+ * @version 3.5.0
+ * @since 2016-05-26
+ */
+public interface ScPathCursor {
+
+    /**
+     * Move the cursor to the passed distance and computes the position and the tangent.
+     * @param distance  the distance from the path start
+     * @param pos       If not null, returns the sampled position (x==[0], y==[1])
+     * @param tan       If not null, returns the sampled tangent (x==[0], y==[1])
+     * @return          false if there was no path
+     */
+    boolean getPosTan(float distance, float[] pos, float[] tan);
+
+    /**
+     * Move the cursor to the path start.
+     */
+    void reset();
+
+}
@@ -5,20 +5,35 @@ import android.graphics.PathMeasure;
 import android.graphics.RectF;
 import android.os.Build;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 
 /**
  * Extend the PathMeasure because the original class not consider the contours in its
  * totality.
  * NOTE: About nearest found point this class work mostly on an points approximation of 1 pixel
- * of the given path.
+ * of the given path. Setting a tolerance the approximation will place the points considering
+ * the path curvature and the max error allowed.
+ * All the structures derived from the path (contours, length, points approximation, bounds
+ * and spatial index) are calculated only when accessed the first time and hold until the
+ * path change. Call prepare to calculate them all, for example on a worker thread.
  *
  * @author Samuele Carassai
  * @version 3.5.0
  * @since 2016-05-26
  */
-public class ScPathMeasure extends PathMeasure {
+public class ScPathMeasure extends PathMeasure implements ScGeometry {
+
+    // ***************************************************************************************
+    // Constants
+
+    private static final int GRID_MAX_CELLS_PER_SIDE = 64;
+    private static final int POINT_SIZE = 3;
+    private static final float ADAPTIVE_MAX_SEGMENT = 64.0f;
+    private static final float ADAPTIVE_MIN_SEGMENT = 1.0f;
+
 
     // ***************************************************************************************
     // Private
@@ -28,10 +43,99 @@ public class ScPathMeasure extends PathMeasure {
 
     private RectF mBounds;
     private float mLength;
-    private float[][] mPathPoints;
+    private PathMeasure[] mContourMeasures;
+    private float[] mContourOffsets;
+    private float[] mPathPoints;
+    private float[] mPathDistances;
+    private int mPathPointsCount;
+    private float mMaxSegmentLength;
+    private float mTolerance;
+
+    // Spatial index of the approximation points
+    private float mGridLeft;
+    private float mGridTop;
+    private float mGridCellSize;
+    private int mGridColumns;
+    private int mGridRows;
+    private int[] mGridCells;
+    private int[] mGridIndexes;
+
+    // Lazy structures status
+    private boolean mContoursReady;
+    private boolean mPointsReady;
+    private boolean mGridReady;
+    private int mRevision;
 
     // For internal calculation
     private PathMeasure mGenericMeasure;
+    private float[] mGenericPoint;
+    private float[] mGenericTangent;
+    private float[] mGenericSample;
+    private float[] mGenericArea;
+    private float[] mGenericLimits;
+    private float mNearestDistance;
+    private float mNearestPosition;
+
+
+    // ***************************************************************************************
+    // Classes
+
+    /**
+     * Cursor moving on the contours, or on the points of the adaptive approximation, starting
+     * from the last position found.
+     * When the path or the approximation change the cursor restart from the path start.
+     */
+    private class Cursor implements ScPathCursor {
+        private int revision = -1;
+        private int contour;
+        private int index;
+        private float[] sample = new float[ScPathMeasure.POINT_SIZE];
+
+        @Override
+        public boolean getPosTan(float distance, float[] pos, float[] tan) {
+            // Restart if the path or the approximation changed
+            if (this.revision != mRevision) {
+                this.revision = mRevision;
+                this.reset();
+            }
+
+            // If adaptive approximation interpolate the points
+            if (mTolerance > 0.0f) {
+                // Check the limits
+                preparePoints();
+                if (mPathPointsCount == 0 || distance > mLength)
+                    return false;
+
+                // Move to the point before the distance and interpolate
+                this.index = movePathPointIndex(this.index, distance);
+                interpolatePathPoint(this.index, distance, this.sample);
+                samplePosTan(this.sample, pos, tan);
+                return true;
+            }
+
+            // Check the limits
+            prepareContours();
+            int count = mContourMeasures.length;
+            if (count == 0 || !(distance <= mContourOffsets[count]))
+                return false;
+
+            // Move on the contour where the distance fall
+            while (this.contour < count - 1 && distance > mContourOffsets[this.contour + 1])
+                this.contour ++;
+            while (this.contour > 0 && distance <= mContourOffsets[this.contour])
+                this.contour --;
+
+            // Get the info
+            return mContourMeasures[this.contour]
+                    .getPosTan(distance - mContourOffsets[this.contour], pos, tan);
+        }
+
+        @Override
+        public void reset() {
+            this.contour = 0;
+            this.index = 0;
+        }
+    }
 
 
     // ***************************************************************************************
@@ -61,15 +165,13 @@ public class ScPathMeasure extends PathMeasure {
 
     /**
      * Get an approximation of 1 pixel of all the points inside the path.
-     * @return a points list: x, y, angle (degrees).
+     * The points are stored in sequence inside a single array.
+     * @return a points list: x, y, angle (degrees) for each point.
      */
-    private float[][] getPathPoints() {
+    private float[] getPathPoints() {
         // Check for empty value
         if (this.mPath == null || this.mPath.isEmpty())
-            return new float[][]{};
-
-        // Reset the path measurer
-        this.mGenericMeasure.setPath(this.mPath, this.mForceClosed);
+            return new float[0];
 
         // Get the right length
         float length = this.mLength;
@@ -77,12 +179,14 @@ public class ScPathMeasure extends PathMeasure {
         float increment = length / fixedLength;
 
         // Get the array capacity and create an empty one
-        float[][] points = new float[fixedLength][3];
+        float[] points = new float[fixedLength * ScPathMeasure.POINT_SIZE];
         float[] point = new float[2];
         float[] tangent = new float[2];
 
         // Holders
         float distance = 0;
+        int contour = 0;
+        int lastContour = this.mContourMeasures.length - 1;
 
         // Cycle all the point of the path using an arbitrary increment
         for (int index = 0; index < fixedLength; index ++) {
@@ -90,17 +194,23 @@ public class ScPathMeasure extends PathMeasure {
             if (Float.compare(distance, length) == 1)
                 distance = length;
 
+            // Move on the contour where the distance fall
+            while (contour < lastContour && distance > this.mContourOffsets[contour + 1])
+                contour ++;
+
             // Find the tangent
-            this.mGenericMeasure.getPosTan(distance, point, tangent);
+            this.mContourMeasures[contour]
+                    .getPosTan(distance - this.mContourOffsets[contour], point, tangent);
 
             // Convert calculated angle to degrees
             float angle = (float) Math.atan2(tangent[1], tangent[0]);
             float degrees = (float) Math.toDegrees(angle);
 
             // Assign
-            points[index][0] = point[0];
-            points[index][1] = point[1];
-            points[index][2] = degrees;
+            int position = index * ScPathMeasure.POINT_SIZE;
+            points[position] = point[0];
+            points[position + 1] = point[1];
+            points[position + 2] = degrees;
 
             // Next point
             distance += increment;
@@ -111,89 +221,731 @@ public class ScPathMeasure extends PathMeasure {
     }
 
     /**
-     * Get the length of a path considering all the contours.
-     * @return the path length
+     * Get the point and the angle (in degrees) on a contour.
+     * The point will be stored inside the generic point holder.
+     * @param measure   the contour measurer
+     * @param distance  the distance from the contour start
+     * @return          the angle in degrees
+     */
+    private float getContourPointAndAngle(PathMeasure measure, float distance) {
+        // Find the tangent
+        measure.getPosTan(distance, this.mGenericPoint, this.mGenericTangent);
+
+        // Convert calculated angle to degrees
+        float angle = (float) Math.atan2(this.mGenericTangent[1], this.mGenericTangent[0]);
+        return (float) Math.toDegrees(angle);
+    }
+
+    /**
+     * Add a point to the approximation growing the holders if needed.
+     * @param distance  the distance from the path start
+     * @param x         the point x
+     * @param y         the point y
+     * @param angle     the angle in degrees
+     */
+    private void addPathPoint(float distance, float x, float y, float angle) {
+        // Grow the holders if needed
+        int count = this.mPathPointsCount;
+        if (count == this.mPathDistances.length) {
+            this.mPathDistances = Arrays.copyOf(this.mPathDistances, count * 2);
+            this.mPathPoints = Arrays.copyOf(this.mPathPoints, count * 2 * ScPathMeasure.POINT_SIZE);
+        }
+
+        // Keep trace of the longest segment
+        if (count > 0 && distance - this.mPathDistances[count - 1] > this.mMaxSegmentLength)
+            this.mMaxSegmentLength = distance - this.mPathDistances[count - 1];
+
+        // Assign
+        int position = count * ScPathMeasure.POINT_SIZE;
+        this.mPathDistances[count] = distance;
+        this.mPathPoints[position] = x;
+        this.mPathPoints[position + 1] = y;
+        this.mPathPoints[position + 2] = angle;
+        this.mPathPointsCount ++;
+    }
+
+    /**
+     * Subdivide a segment of the current contour until its points are near to the chord
+     * between the limits less than the tolerance.
+     * The limits will not be added to the approximation, only the found middle points.
+     * @param measure   the contour measurer
+     * @param offset    the contour distance from the path start
+     * @param start     the segment start distance from the contour start
+     * @param startX    the segment start point x
+     * @param startY    the segment start point y
+     * @param end       the segment end distance from the contour start
+     * @param endX      the segment end point x
+     * @param endY      the segment end point y
+     */
+    private void subdividePathSegment(PathMeasure measure, float offset,
+                                      float start, float startX, float startY,
+                                      float end, float endX, float endY) {
+        // Check if too short for be divided
+        if (end - start <= ScPathMeasure.ADAPTIVE_MIN_SEGMENT)
+            return;
+
+        // Find the middle point
+        float middle = (start + end) / 2;
+        float angle = this.getContourPointAndAngle(measure, middle);
+        float middleX = this.mGenericPoint[0];
+        float middleY = this.mGenericPoint[1];
+
+        // Find the distance of the middle point from the chord
+        float dx = endX - startX;
+        float dy = endY - startY;
+        float chord = (float) Math.sqrt(dx * dx + dy * dy);
+        float error = chord > 0.0f ?
+                Math.abs(dx * (middleY - startY) - dy * (middleX - startX)) / chord :
+                (float) Math.sqrt(Math.pow(middleX - startX, 2) + Math.pow(middleY - startY, 2));
+
+        // If the segment is flat enough exit
+        if (error <= this.mTolerance)
+            return;
+
+        // Subdivide the both halves keeping the middle point
+        this.subdividePathSegment(measure, offset, start, startX, startY, middle, middleX, middleY);
+        this.addPathPoint(offset + middle, middleX, middleY, angle);
+        this.subdividePathSegment(measure, offset, middle, middleX, middleY, end, endX, endY);
+    }
+
+    /**
+     * Get an approximation of all the points inside the path placing the points considering
+     * the path curvature.
+     * Every contour is divided in segments and every segment is subdivided until the distance
+     * of its middle point from the chord is less than the tolerance.
+     * The points will be stored inside the points holder and their distances from the path
+     * start inside the distances holder.
      */
-    private float getGlobalLength() {
+    private void getAdaptivePathPoints() {
+        // Init the holders
+        this.mPathDistances = new float[64];
+        this.mPathPoints = new float[64 * ScPathMeasure.POINT_SIZE];
+        this.mPathPointsCount = 0;
+        this.mMaxSegmentLength = 0.0f;
+
         // Check for empty value
-        if (this.mPath == null || this.mPath.isEmpty())
-            return 0.0f;
+        if (this.mPath != null && !this.mPath.isEmpty()) {
+            // Cycle all the contours
+            for (int contour = 0; contour < this.mContourMeasures.length; contour ++) {
+                // Holders
+                PathMeasure measure = this.mContourMeasures[contour];
+                float offset = this.mContourOffsets[contour];
+
+                // Divide the contour in segments not longer than the max allowed
+                float length = measure.getLength();
+                int segments = (int) Math.ceil(length / ScPathMeasure.ADAPTIVE_MAX_SEGMENT);
+                if (segments < 1) segments = 1;
+
+                // Add the first point
+                float angle = this.getContourPointAndAngle(measure, 0.0f);
+                float startX = this.mGenericPoint[0];
+                float startY = this.mGenericPoint[1];
+                this.addPathPoint(offset, startX, startY, angle);
+
+                // Cycle all the segments
+                for (int index = 1; index <= segments; index ++) {
+                    // Find the segment limits
+                    float start = length * (index - 1) / segments;
+                    float end = length * index / segments;
+
+                    angle = this.getContourPointAndAngle(measure, end);
+                    float endX = this.mGenericPoint[0];
+                    float endY = this.mGenericPoint[1];
+
+                    // Subdivide and add the last point
+                    this.subdividePathSegment(
+                            measure, offset, start, startX, startY, end, endX, endY);
+                    this.addPathPoint(offset + end, endX, endY, angle);
+
+                    // Next
+                    startX = endX;
+                    startY = endY;
+                }
+            }
+        }
+
+        // Trim the holders
+        this.mPathDistances = Arrays.copyOf(this.mPathDistances, this.mPathPointsCount);
+        this.mPathPoints = Arrays.copyOf(
+                this.mPathPoints, this.mPathPointsCount * ScPathMeasure.POINT_SIZE);
+    }
+
+    /**
+     * Find the index of the last approximated point before the passed distance.
+     * If the distance is before the path start will return the first index.
+     * @param distance  the distance from the path start
+     * @return          the point index
+     */
+    private int findPathPointIndex(float distance) {
+        // Check the pixel approximation
+        int count = this.getApproximationCount();
+        if (this.mPathDistances == null) {
+            int index = (int) Math.ceil(distance * count / this.mLength) - 1;
+            return index < 0 ? 0: index >= count ? count - 1: index;
+        }
+
+        // Binary search
+        int low = 0;
+        int high = count - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (this.mPathDistances[middle] < distance)
+                low = middle;
+            else
+                high = middle - 1;
+        }
+
+        // Found
+        return low;
+    }
+
+    /**
+     * Find the index of the last approximated point before the passed distance moving, step
+     * by step, from a known index.
+     * The same result of findPathPointIndex but, when the distances are requested in sequence,
+     * every step is done only once.
+     * @param index     the known index
+     * @param distance  the distance from the path start
+     * @return          the point index
+     */
+    private int movePathPointIndex(int index, float distance) {
+        // Check the limits
+        int count = this.mPathPointsCount;
+        if (index < 0 || index >= count)
+            index = 0;
+
+        // Move forward or backward
+        while (index < count - 1 && this.mPathDistances[index + 1] < distance)
+            index ++;
+        while (index > 0 && this.mPathDistances[index] >= distance)
+            index --;
+
+        // Found
+        return index;
+    }
+
+    /**
+     * Interpolate the approximated point at the passed index with the next one.
+     * @param index     the index of the last point before the distance
+     * @param distance  the distance from the path start
+     * @param point     the array where will save the point info: x, y and angle in degrees
+     */
+    private void interpolatePathPoint(int index, float distance, float[] point) {
+        // Find the ratio to the next point
+        int count = this.mPathPointsCount;
+        float start = this.getApproximationDistance(index);
+        float end = index < count - 1 ? this.getApproximationDistance(index + 1): start;
+        float ratio = end > start ? (distance - start) / (end - start): 0.0f;
+        if (ratio < 0.0f) ratio = 0.0f;
+        if (ratio > 1.0f) ratio = 1.0f;
+
+        // Get the previous point
+        int position = index * ScPathMeasure.POINT_SIZE;
+        point[0] = this.mPathPoints[position];
+        point[1] = this.mPathPoints[position + 1];
+        point[2] = this.mPathPoints[position + 2];
+
+        // Move to the next point
+        if (ratio > 0.0f) {
+            int next = position + ScPathMeasure.POINT_SIZE;
+            point[0] += (this.mPathPoints[next] - point[0]) * ratio;
+            point[1] += (this.mPathPoints[next + 1] - point[1]) * ratio;
+
+            // Rotate by the shortest way
+            float delta = this.mPathPoints[next + 2] - point[2];
+            if (delta > 180.0f) delta -= 360.0f;
+            if (delta < -180.0f) delta += 360.0f;
+            point[2] += delta * ratio;
+        }
+    }
+
+    /**
+     * Convert an approximated point in position and tangent.
+     * @param sample    the point info: x, y and angle in degrees
+     * @param pos       If not null, returns the position (x==[0], y==[1])
+     * @param tan       If not null, returns the tangent (x==[0], y==[1])
+     */
+    private void samplePosTan(float[] sample, float[] pos, float[] tan) {
+        // Assign
+        double radiant = Math.toRadians(sample[2]);
+        if (pos != null) {
+            pos[0] = sample[0];
+            pos[1] = sample[1];
+        }
+        if (tan != null) {
+            tan[0] = (float) Math.cos(radiant);
+            tan[1] = (float) Math.sin(radiant);
+        }
+    }
+
+    /**
+     * Measure all the contours of the path storing a dedicated measurer for each one and the
+     * contours distances from the path start.
+     * The last distance stored is the global length of the path.
+     */
+    private void getContours() {
+        // Check for empty value
+        if (this.mPath == null) {
+            this.mContourMeasures = new PathMeasure[0];
+            this.mContourOffsets = new float[] { 0.0f };
+            return;
+        }
+
+        // Holders
+        List<PathMeasure> measures = new ArrayList<>();
+        List<Float> offsets = new ArrayList<>();
+        float globalLen = 0.0f;
 
         // Reset
         this.mGenericMeasure.setPath(this.mPath, this.mForceClosed);
 
         // Cycle all the contours
-        float globalLen = 0.0f;
         do {
+            // Extract the contour and create its measurer
+            float length = this.mGenericMeasure.getLength();
+            Path contour = new Path();
+            this.mGenericMeasure.getSegment(0.0f, length, contour, true);
+            measures.add(new PathMeasure(contour, false));
+
             // Increase the global length
-            globalLen += this.mGenericMeasure.getLength();
+            offsets.add(globalLen);
+            globalLen += length;
 
         } while (this.mGenericMeasure.nextContour());
 
-        // Return the global length
-        return globalLen;
+        // Store
+        this.mContourMeasures = measures.toArray(new PathMeasure[0]);
+        this.mContourOffsets = new float[offsets.size() + 1];
+        for (int index = 0; index < offsets.size(); index ++)
+            this.mContourOffsets[index] = offsets.get(index);
+        this.mContourOffsets[offsets.size()] = globalLen;
+    }
+
+    /**
+     * Find the contour where the distance fall using a binary search on the contours
+     * distances from the path start.
+     * @param distance  the distance from the path start
+     * @return          the contour index or -1 if not found
+     */
+    private int findContour(float distance) {
+        // Check the limits
+        this.prepareContours();
+        int count = this.mContourMeasures.length;
+        if (count == 0 || !(distance <= this.mContourOffsets[count]))
+            return -1;
+
+        // Find the first contour that end after the distance
+        int low = 0;
+        int high = count - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (distance <= this.mContourOffsets[middle + 1])
+                high = middle;
+            else
+                low = middle + 1;
+        }
+
+        // Found
+        return low;
     }
 
     /**
-     * Get a segment from the current contour
-     * @param start the start position
-     * @param end the end position
-     * @param offset the contour offset
+     * Get a segment from a contour
+     * @param contour the contour index
+     * @param start the start position from the path start
+     * @param end the end position from the path start
      * @return the new path
      */
-    private Path getOffsetSegment(float start, float end, float offset) {
+    private Path getContourSegment(int contour, float start, float end) {
         // Store the path as new
         Path segment = new Path();
-        this.mGenericMeasure.getSegment(start - offset, end - offset, segment, true);
+        float offset = this.mContourOffsets[contour];
+        boolean found = this.mContourMeasures[contour]
+                .getSegment(start - offset, end - offset, segment, true);
 
         // On KITKAT and earlier releases, the resulting path may not display on a
         // hardware-accelerated Canvas. A simple workaround is to add a single
         // operation to this path segment.
-        segment.rLineTo(0, 0);
+        if (found)
+            segment.rLineTo(0, 0);
 
         // Return the new object
         return segment;
     }
 
     /**
-     * Get the path bounds considering all the contours.
-     * @return the path boundaries
+     * Build a uniform grid over the approximation points.
+     * Every cell hold the indexes of the points that fall inside it so the nearest point
+     * searching can check only the cells around the source point.
+     * The cells are stored in a compact way: mGridCells hold, for each cell, the starting
+     * position inside the mGridIndexes array and the last item is the total points count.
      */
-    private RectF getGlobalBounds() {
+    private void buildGrid() {
         // Check for empty value
-        if (this.mPath == null || this.mPath.isEmpty())
-            return new RectF();
+        int count = this.mPathPoints.length / ScPathMeasure.POINT_SIZE;
+        if (count == 0) {
+            this.mGridCells = null;
+            this.mGridIndexes = null;
+            return;
+        }
+
+        // Find the points boundaries
+        float left = Float.MAX_VALUE;
+        float top = Float.MAX_VALUE;
+        float right = -Float.MAX_VALUE;
+        float bottom = -Float.MAX_VALUE;
+
+        for (int index = 0; index < this.mPathPoints.length; index += ScPathMeasure.POINT_SIZE) {
+            float x = this.mPathPoints[index];
+            float y = this.mPathPoints[index + 1];
+
+            if (left > x) left = x;
+            if (right < x) right = x;
+            if (top > y) top = y;
+            if (bottom < y) bottom = y;
+        }
+
+        // Find the cell size considering a number of cells per side near to the square root
+        // of the points count.
+        int side = (int) Math.ceil(Math.sqrt(count));
+        if (side > ScPathMeasure.GRID_MAX_CELLS_PER_SIDE)
+            side = ScPathMeasure.GRID_MAX_CELLS_PER_SIDE;
+
+        float cellSize = Math.max(right - left, bottom - top) / side;
+        if (cellSize < 1.0f) cellSize = 1.0f;
+
+        // Store the grid dimensions
+        this.mGridLeft = left;
+        this.mGridTop = top;
+        this.mGridCellSize = cellSize;
+        this.mGridColumns = (int) ((right - left) / cellSize) + 1;
+        this.mGridRows = (int) ((bottom - top) / cellSize) + 1;
+
+        // Count the points inside every cell
+        int[] cells = new int[this.mGridColumns * this.mGridRows + 1];
+        for (int index = 0; index < this.mPathPoints.length; index += ScPathMeasure.POINT_SIZE)
+            cells[this.getGridCell(this.mPathPoints[index], this.mPathPoints[index + 1]) + 1] ++;
+
+        // Transform the counts in starting positions
+        for (int index = 1; index < cells.length; index ++)
+            cells[index] += cells[index - 1];
+
+        // Fill the indexes holder using a temporary copy of the starting positions as cursor
+        int[] cursors = Arrays.copyOf(cells, cells.length - 1);
+        int[] indexes = new int[count];
+        for (int index = 0; index < count; index ++) {
+            int position = index * ScPathMeasure.POINT_SIZE;
+            int cell = this.getGridCell(this.mPathPoints[position], this.mPathPoints[position + 1]);
+            indexes[cursors[cell] ++] = index;
+        }
+
+        // Store
+        this.mGridCells = cells;
+        this.mGridIndexes = indexes;
+    }
+
+    /**
+     * Get the grid column where the passed x coordinate fall.
+     * Outside coordinate will be limited to the grid boundaries.
+     * @param x the x coordinate
+     * @return the column index
+     */
+    private int getGridColumn(float x) {
+        int column = (int) ((x - this.mGridLeft) / this.mGridCellSize);
+        return column < 0 ? 0 : column >= this.mGridColumns ? this.mGridColumns - 1 : column;
+    }
+
+    /**
+     * Get the grid row where the passed y coordinate fall.
+     * Outside coordinate will be limited to the grid boundaries.
+     * @param y the y coordinate
+     * @return the row index
+     */
+    private int getGridRow(float y) {
+        int row = (int) ((y - this.mGridTop) / this.mGridCellSize);
+        return row < 0 ? 0 : row >= this.mGridRows ? this.mGridRows - 1 : row;
+    }
+
+    /**
+     * Get the grid cell where the passed point fall.
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return the cell index
+     */
+    private int getGridCell(float x, float y) {
+        return this.getGridRow(y) * this.mGridColumns + this.getGridColumn(x);
+    }
 
+    /**
+     * Update the nearest point found if the passed one is nearest to the source point.
+     * On the same distance the position nearest to the path start win.
+     * @param pointX    the point x
+     * @param pointY    the point y
+     * @param position  the point distance from the path start
+     * @param x         the source point x
+     * @param y         the source point y
+     */
+    private void updateNearest(float pointX, float pointY, float position, float x, float y) {
+        // Calculate the squared distance from the source point
+        float dx = pointX - x;
+        float dy = pointY - y;
+        float distance = dx * dx + dy * dy;
+
+        // Check if must be assigned
+        if (this.mNearestPosition == -1 || this.mNearestDistance > distance ||
+                (this.mNearestDistance == distance && this.mNearestPosition > position)) {
+            this.mNearestDistance = distance;
+            this.mNearestPosition = position;
+        }
+    }
+
+    /**
+     * Check the point on the segment, between two consecutive approximated points, nearest to
+     * the source point.
+     * @param index the segment start point index
+     * @param x     the source point x
+     * @param y     the source point y
+     * @param area  the area limits: left, top, right, bottom
+     */
+    private void checkNearestSegment(int index, float x, float y, float[] area) {
+        // Two consecutive points at the same distance are the junction between two contours
+        float startDistance = this.mPathDistances[index];
+        float endDistance = this.mPathDistances[index + 1];
+        if (endDistance <= startDistance)
+            return;
+
+        // Holders
+        int position = index * ScPathMeasure.POINT_SIZE;
+        float startX = this.mPathPoints[position];
+        float startY = this.mPathPoints[position + 1];
+        float dx = this.mPathPoints[position + ScPathMeasure.POINT_SIZE] - startX;
+        float dy = this.mPathPoints[position + ScPathMeasure.POINT_SIZE + 1] - startY;
+
+        // Clip the segment inside the area finding the ratio limits of the inner part
+        float[] limits = this.mGenericLimits;
+        limits[0] = 0.0f;
+        limits[1] = 1.0f;
+        if (!this.clipSegment(-dx, startX - area[0], limits) ||
+                !this.clipSegment(dx, area[2] - startX, limits) ||
+                !this.clipSegment(-dy, startY - area[1], limits) ||
+                !this.clipSegment(dy, area[3] - startY, limits))
+            return;
+
+        // Project the source point on the segment and limit it to the inner part
+        float squaredLength = dx * dx + dy * dy;
+        float ratio = squaredLength > 0.0f ?
+                ((x - startX) * dx + (y - startY) * dy) / squaredLength : 0.0f;
+        if (ratio < limits[0]) ratio = limits[0];
+        if (ratio > limits[1]) ratio = limits[1];
+
+        // Check the projected point
+        this.updateNearest(
+                startX + dx * ratio, startY + dy * ratio,
+                startDistance + (endDistance - startDistance) * ratio,
+                x, y
+        );
+    }
+
+    /**
+     * Reduce the ratio limits of a segment considering one side of a clipping area.
+     * The segment point at the ratio r is inside the side when: direction * r <= gap.
+     * @param direction the segment direction projected on the side normal
+     * @param gap       the distance of the segment start from the side
+     * @param limits    the ratio limits: min, max
+     * @return          false if the segment is completely outside
+     */
+    private boolean clipSegment(float direction, float gap, float[] limits) {
+        // Parallel to the side
+        if (direction == 0.0f)
+            return gap >= 0.0f;
+
+        // Update the limits
+        float ratio = gap / direction;
+        if (direction < 0.0f) {
+            if (ratio > limits[1]) return false;
+            if (ratio > limits[0]) limits[0] = ratio;
+        } else {
+            if (ratio < limits[0]) return false;
+            if (ratio < limits[1]) limits[1] = ratio;
+        }
+        return true;
+    }
+
+    /**
+     * Check an approximated point as candidate to be the nearest to the source point.
+     * If the approximation is adaptive the segments around the point will be checked.
+     * @param index the point index
+     * @param x     the source point x
+     * @param y     the source point y
+     * @param area  the area limits: left, top, right, bottom
+     */
+    private void checkNearestPoint(int index, float x, float y, float[] area) {
+        // Adaptive approximation
+        if (this.mPathDistances != null) {
+            if (index > 0)
+                this.checkNearestSegment(index - 1, x, y, area);
+            if (index < this.mPathPointsCount - 1)
+                this.checkNearestSegment(index, x, y, area);
+            return;
+        }
+
+        // Pixel approximation
+        int position = index * ScPathMeasure.POINT_SIZE;
+        float pointX = this.mPathPoints[position];
+        float pointY = this.mPathPoints[position + 1];
+
+        // Check the point is contained within the referenced area
+        if (pointX >= area[0] && pointX < area[2] && pointY >= area[1] && pointY < area[3])
+            this.updateNearest(pointX, pointY, index, x, y);
+    }
+
+    /**
+     * Check all the points inside a grid cell and update the nearest point found if needed.
+     * Only the points inside the area defined by the limits will be considered.
+     * @param column    the cell column
+     * @param row       the cell row
+     * @param x         the source point x
+     * @param y         the source point y
+     * @param area      the area limits: left, top, right, bottom
+     */
+    private void searchGridCell(int column, int row, float x, float y, float[] area) {
+        // Check the limits
+        if (column < 0 || column >= this.mGridColumns || row < 0 || row >= this.mGridRows)
+            return;
+
+        // Cycle all the points inside the cell
+        int cell = row * this.mGridColumns + column;
+        for (int index = this.mGridCells[cell]; index < this.mGridCells[cell + 1]; index ++)
+            this.checkNearestPoint(this.mGridIndexes[index], x, y, area);
+    }
+
+    /**
+     * Prepare the area around the source point and reset the nearest point holders.
+     * @param x         the x of point
+     * @param y         the y of point
+     * @param threshold the threshold to define the checking area
+     * @return          the area limits: left, top, right, bottom
+     */
+    private float[] startNearestSearch(float x, float y, float threshold) {
+        // Reset the holders
+        this.mNearestDistance = 0.0f;
+        this.mNearestPosition = -1;
+
+        // Find the area around the point
+        float[] area = this.mGenericArea;
+        area[0] = x - threshold;
+        area[1] = y - threshold;
+        area[2] = x + threshold;
+        area[3] = y + threshold;
+        return area;
+    }
+
+    /**
+     * Get the distance from the path start of the nearest point found.
+     * @return the distance or -1 if not found
+     */
+    private float endNearestSearch() {
+        // Adaptive approximation
+        if (this.mPathDistances != null)
+            return this.mNearestPosition;
+
+        // Pixel approximation
+        int fixedEnd = ((int) Math.ceil(this.mLength)) - 1;
+        return this.mNearestPosition >= fixedEnd ? this.mLength: this.mNearestPosition;
+    }
+
+    /**
+     * Find the distance from the path start of the point nearest to the passed one using the
+     * grid.
+     * The cells are checked by rings around the source point cell and the search stop when
+     * the next ring cannot contain a point nearest than the one already found.
+     * @param x         the x of point
+     * @param y         the y of point
+     * @param threshold the threshold to define the checking area
+     * @return          the distance or -1 if not found
+     */
+    private float findNearestPosition(float x, float y, float threshold) {
         // Reset
-        this.mGenericMeasure.setPath(this.mPath, this.mForceClosed);
-        RectF bounds = new RectF(
-                Float.MAX_VALUE, Float.MAX_VALUE,
-                Float.MIN_VALUE, Float.MIN_VALUE
+        this.prepareGrid();
+        float[] area = this.startNearestSearch(x, y, threshold);
+
+        // Check for empty values.
+        // A not positive threshold define an empty area.
+        if (this.mGridCells == null || !(threshold > 0.0f))
+            return this.endNearestSearch();
+
+        // Find the source cell
+        int column = this.getGridColumn(x);
+        int row = this.getGridRow(y);
+
+        // On the adaptive approximation the nearest point can be far from the indexed points
+        // at most of an half segment.
+        float margin = this.mPathDistances != null ? this.mMaxSegmentLength / 2 : 0.0f;
+
+        // Find the last ring to check.
+        // If the source is outside the grid the cell is limited to the borders so the rings
+        // must cover the whole grid in the worst case.
+        int lastRing = Math.max(
+                Math.max(column, this.mGridColumns - 1 - column),
+                Math.max(row, this.mGridRows - 1 - row)
         );
+        float cellsInThreshold = (threshold + margin) / this.mGridCellSize + 1.0f;
+        if (cellsInThreshold < lastRing)
+            lastRing = (int) Math.ceil(cellsInThreshold);
+
+        // Cycle all the rings
+        for (int ring = 0; ring <= lastRing; ring ++) {
+            // All the points inside the current ring are far at least this distance from the
+            // source point so if already found a nearest one can exit.
+            if (this.mNearestPosition != -1) {
+                float minDistance = (ring - 1) * this.mGridCellSize - margin;
+                if (minDistance > 0.0f && minDistance * minDistance > this.mNearestDistance)
+                    break;
+            }
+
+            // The ring center
+            if (ring == 0) {
+                this.searchGridCell(column, row, x, y, area);
+                continue;
+            }
 
-        // Cycle all the points in path
-        for (float[] point : this.mPathPoints) {
-            // Check the position of the current point and update the bounds
-            if (bounds.left > point[0]) bounds.left = point[0];
-            if (bounds.right < point[0]) bounds.right = point[0];
+            // Horizontal sides
+            for (int index = column - ring; index <= column + ring; index ++) {
+                this.searchGridCell(index, row - ring, x, y, area);
+                this.searchGridCell(index, row + ring, x, y, area);
+            }
 
-            if (bounds.top > point[1]) bounds.top = point[1];
-            if (bounds.bottom < point[1]) bounds.bottom = point[1];
+            // Vertical sides
+            for (int index = row - ring + 1; index < row + ring; index ++) {
+                this.searchGridCell(column - ring, index, x, y, area);
+                this.searchGridCell(column + ring, index, x, y, area);
+            }
         }
 
-        // Else
-        return bounds;
+        // Return the found position
+        return this.endNearestSearch();
     }
 
     /**
-     * Get the distance between two point on a 2D plane
-     * @param first point
-     * @param second point
-     * @return distance
+     * Find the distance from the path start of the point nearest to the passed one checking
+     * all the points in sequence.
+     * @param x         the x of point
+     * @param y         the y of point
+     * @param threshold the threshold to define the checking area
+     * @return          the distance or -1 if not found
      */
-    private float getPointsDistance(float[] first, float[] second) {
-        return (float) Math.sqrt(
-                Math.pow(first[0] - second[0], 2) + Math.pow(first[1] - second[1], 2));
+    private float findNearestPositionByScan(float x, float y, float threshold) {
+        // Reset
+        this.preparePoints();
+        float[] area = this.startNearestSearch(x, y, threshold);
+
+        // Cycle all points on path
+        if (threshold > 0.0f)
+            for (int index = 0; index < this.mPathPointsCount; index ++)
+                this.checkNearestPoint(index, x, y, area);
+
+        // Return
+        return this.endNearestSearch();
     }
 
     /**
@@ -205,11 +957,77 @@ public class ScPathMeasure extends PathMeasure {
         this.mForceClosed = forceClosed;
 
         // Init
-        this.mPathPoints = null;
+        this.mContoursReady = false;
+        this.invalidateApproximation();
         this.mGenericMeasure = new PathMeasure();
-        this.mLength = this.getGlobalLength();
-        this.mPathPoints = this.getPathPoints();
-        this.mBounds = this.getGlobalBounds();
+        this.mGenericPoint = new float[2];
+        this.mGenericTangent = new float[2];
+        this.mGenericSample = new float[ScPathMeasure.POINT_SIZE];
+        this.mGenericArea = new float[4];
+        this.mGenericLimits = new float[2];
+    }
+
+    /**
+     * Release the structures derived from the points approximation so they will be
+     * calculated again at the next access.
+     */
+    private void invalidateApproximation() {
+        this.mRevision ++;
+        this.mPointsReady = false;
+        this.mGridReady = false;
+        this.mPathPoints = null;
+        this.mPathDistances = null;
+        this.mPathPointsCount = 0;
+        this.mBounds = null;
+        this.mGridCells = null;
+        this.mGridIndexes = null;
+    }
+
+    /**
+     * Measure the contours and the global length if not already done.
+     */
+    private void prepareContours() {
+        // Check if already done
+        if (this.mContoursReady)
+            return ;
+
+        // Contours
+        this.getContours();
+        this.mLength = this.mContourOffsets[this.mContourMeasures.length];
+        this.mContoursReady = true;
+    }
+
+    /**
+     * Calculate the points approximation if not already done.
+     */
+    private void preparePoints() {
+        // Check if already done
+        if (this.mPointsReady)
+            return ;
+
+        // Points approximation
+        this.prepareContours();
+        if (this.mTolerance > 0.0f)
+            this.getAdaptivePathPoints();
+        else {
+            this.mPathPoints = this.getPathPoints();
+            this.mPathPointsCount = this.mPathPoints.length / ScPathMeasure.POINT_SIZE;
+        }
+        this.mPointsReady = true;
+    }
+
+    /**
+     * Build the spatial index of the points approximation if not already done.
+     */
+    private void prepareGrid() {
+        // Check if already done
+        if (this.mGridReady)
+            return ;
+
+        // Grid
+        this.preparePoints();
+        this.buildGrid();
+        this.mGridReady = true;
     }
 
 
@@ -238,6 +1056,7 @@ public class ScPathMeasure extends PathMeasure {
      */
     @Override
     public float getLength() {
+        this.prepareContours();
         return this.mLength;
     }
 
@@ -254,15 +1073,28 @@ public class ScPathMeasure extends PathMeasure {
      */
     @Override
     public boolean getPosTan(float distance, float[] pos, float[] tan) {
-        // Move the measurer on the contour where the distance fall
-        float contourDistance = this.moveToContour(distance);
+        // If adaptive approximation interpolate the points
+        if (this.mTolerance > 0.0f) {
+            // Check the limits
+            if (distance > this.getLength() ||
+                    !this.getInterpolatedPoint(distance, this.mGenericSample))
+                return false;
+
+            // Assign
+            this.samplePosTan(this.mGenericSample, pos, tan);
+            return true;
+        }
+
+        // Find the contour where the distance fall
+        int contour = this.findContour(distance);
 
         // If not found exit
-        if (contourDistance == -1)
+        if (contour == -1)
             return false;
 
         // Get the info
-        return this.mGenericMeasure.getPosTan(distance - contourDistance, pos, tan);
+        return this.mContourMeasures[contour]
+                .getPosTan(distance - this.mContourOffsets[contour], pos, tan);
     }
 
     /**
@@ -289,22 +1121,22 @@ public class ScPathMeasure extends PathMeasure {
             return false;
 
         // Reset all
-        this.mGenericMeasure.setPath(this.mPath, this.mForceClosed);
         dst.reset();
 
-        // Cycle all contours
-        float globalLen = 0.0f;
-        do {
+        // Cycle only the contours involved
+        this.prepareContours();
+        int count = this.mContourMeasures.length;
+        int contour = this.findContour(startD < 0.0f ? 0.0f: startD);
+        while (contour != -1 && contour < count && this.mContourOffsets[contour] <= stopD) {
             // Get the segment
-            Path segment = this.getOffsetSegment(startD, stopD, globalLen);
+            Path segment = this.getContourSegment(contour, startD, stopD);
             if (!segment.isEmpty())
                 // Add the extracted segment to the destination path
                 dst.addPath(segment);
 
-            // Update the global distance
-            globalLen += this.mGenericMeasure.getLength();
-
-        } while (this.mGenericMeasure.nextContour());
+            // Next
+            contour ++;
+        }
 
         // Return the result
         return !dst.isEmpty();
@@ -329,16 +1161,16 @@ public class ScPathMeasure extends PathMeasure {
      */
     @SuppressWarnings({"unused"})
     public Path getPath(float distance) {
-        // Move on right contour
-        float offset = this.moveToContour(distance);
+        // Find the right contour
+        int contour = this.findContour(distance);
 
         // Check
-        if (offset == -1)
+        if (contour == -1)
             return null;
 
         // Get the segment
-        float len = this.mGenericMeasure.getLength();
-        return this.getOffsetSegment(0.0f, len, 0.0f);
+        return this.getContourSegment(
+                contour, this.mContourOffsets[contour], this.mContourOffsets[contour + 1]);
     }
 
     /**
@@ -347,17 +1179,13 @@ public class ScPathMeasure extends PathMeasure {
      */
     @SuppressWarnings({"unused"})
     public Path getPath(int index) {
-        // Move on right contour
-        float offset = this.moveToContour(index);
-
         // Check
-        if (offset == -1)
+        if (this.moveToContour(index) == -1)
             return null;
 
-
         // Get the segment
-        float len = this.mGenericMeasure.getLength();
-        return this.getOffsetSegment(0.0f, len, 0.0f);
+        return this.getContourSegment(
+                index, this.mContourOffsets[index], this.mContourOffsets[index + 1]);
     }
 
     /**
@@ -366,102 +1194,90 @@ public class ScPathMeasure extends PathMeasure {
      */
     @SuppressWarnings({"unused"})
     public int countContours() {
-        // Check for empty value
-        if (this.mPath == null)
-            return 0;
-
-        // Reset
-        this.mGenericMeasure.setPath(this.mPath, this.mForceClosed);
-
-        // Cycle all the contours
-        int index = 0;
-        do {
-            // Next
-            index ++;
-
-        } while (this.mGenericMeasure.nextContour());
-
-        // Else
-        return index;
+        this.prepareContours();
+        return this.mContourMeasures.length;
     }
 
     /**
-     * Move the global measurer on the indexed contour
+     * Find the indexed contour
      * @param index the index to find
-     * @return the contour global distance from the path start
+     * @return the contour global distance from the path start or -1 if not found
      */
     @SuppressWarnings({"unused"})
     public float moveToContour(int index) {
-        // Reset
-        this.mGenericMeasure.setPath(this.mPath, this.mForceClosed);
-
-        // Holders
-        int temp = 0;
-        float globalLen = 0.0f;
-
-        // Cycle all the contours
-        do {
-            // Get the current contour length
-            float currentLength = this.mGenericMeasure.getLength();
-
-            // If the current contour is the index return found
-            if ((temp ++) == index)
-                return globalLen;
+        // Check the limits
+        this.prepareContours();
+        if (index < 0 || index >= this.mContourMeasures.length)
+            return -1;
 
-            // Update the global distance from the path start
-            globalLen += currentLength;
-
-        } while (this.mGenericMeasure.nextContour());
-
-        // Else not found
-        return -1;
+        // Found
+        return this.mContourOffsets[index];
     }
 
     /**
-     * Move the global measurer on contour where the distance fall
+     * Find the contour where the distance fall
      * @param distance the distance from path start
-     * @return the contour global distance from the path start
+     * @return the contour global distance from the path start or -1 if not found
      */
     @SuppressWarnings({"unused"})
     public float moveToContour(float distance) {
-        // Reset
-        this.mGenericMeasure.setPath(this.mPath, this.mForceClosed);
-
-        // Cycle all the contours
-        float globalLen = 0.0f;
-        do {
-            // Get the current contour length
-            float currentLen = this.mGenericMeasure.getLength();
-            // If the distance fall in the global length return found
-            if (distance <= globalLen + currentLen)
-                return globalLen;
-
-            // Increase the global length
-            globalLen += currentLen;
-
-        } while (this.mGenericMeasure.nextContour());
+        // Find
+        int contour = this.findContour(distance);
+        return contour == -1 ? -1: this.mContourOffsets[contour];
+    }
 
-        // Else not found
-        return -1;
+    /**
+     * Create a cursor for query the positions on the path in sequence.
+     * Every query start from the last contour, or from the last point of the adaptive
+     * approximation, found so the sequential queries not need to search the position from
+     * the path start.
+     * @return a new cursor
+     */
+    @Override
+    @SuppressWarnings({"unused"})
+    public ScPathCursor createCursor() {
+        return new Cursor();
     }
 
     /**
      * Get the path bounds.
      * Noted that this method consider all contours.
      * If the path changed you must recall a setPath to update this value.
-     * As the computeBounds of the path object seem not work proper I must cycle point by point
-     * of path for find the right path boundaries.
+     * The bounds are calculated on the first call without build the points approximation.
+     * As the computeBounds of the path object consider the control points of the curves the
+     * bounds could be a little larger than the drawn path but always contain it.
      * @return the path boundaries
      */
     @SuppressWarnings({"unused"})
     public RectF getBounds() {
+        // Calculate only when needed
+        if (this.mBounds == null) {
+            this.mBounds = new RectF();
+            if (this.mPath != null && !this.mPath.isEmpty())
+                this.mPath.computeBounds(this.mBounds, true);
+        }
         return this.mBounds;
     }
 
+    /**
+     * Calculate all the structures derived from the path that otherwise will be calculated
+     * on the first access.
+     * Can be called on a worker thread before to publish this object to the UI thread.
+     */
+    @Override
+    @SuppressWarnings({"unused"})
+    public void prepare() {
+        this.prepareGrid();
+        this.getBounds();
+    }
+
     /**
      * Find the distance (from path start) of point nearest to the passed one considering
      * only the area defined by the threshold parameter. Noted that this method consider all
      * contours.
+     * The search is done using a spatial index of the points approximation so only the
+     * points near to the passed one will be checked.
+     * If the approximation is adaptive the position will be interpolated.
      * @param x         the x of point
      * @param y         the y of point
      * @param threshold the threshold to define the checking area
@@ -469,44 +1285,7 @@ public class ScPathMeasure extends PathMeasure {
      */
     @SuppressWarnings({"unused"})
     public float getPositionOnPath(float x, float y, float threshold) {
-        // Store the source point
-        float[] sourcePoint = new float[2];
-        sourcePoint[0] = x;
-        sourcePoint[1] = y;
-
-        // Find the rectangle around the point
-        RectF area = new RectF(
-                x - threshold, y - threshold,
-                x + threshold, y + threshold
-        );
-
-        // Holders
-        float nearest = 0.0f;
-        float position = -1;
-
-        // Cycle all points on path
-        for (int index = 0; index < this.mPathPoints.length; index ++) {
-            // Holders
-            float[] point = this.mPathPoints[index];
-
-            // Check the point is contained within the referenced rectangle
-            if (area.contains(point[0], point[1])) {
-                // Calculate the distances from found point
-                float distance = this.getPointsDistance(sourcePoint, point);
-
-                // Check if must be assigned.
-                // If the distance is less save the current distance from path and the position
-                // on the path from the start.
-                if (position == -1 || nearest > distance) {
-                    nearest = distance;
-                    position = index;
-                }
-            }
-        }
-
-        // Return
-        int fixedEnd = ((int) Math.ceil(this.mLength)) - 1;
-        return position >= fixedEnd ? this.mLength: position;
+        return this.findNearestPosition(x, y, threshold);
     }
 
     /**
@@ -535,13 +1314,177 @@ public class ScPathMeasure extends PathMeasure {
         return this.getPositionOnPath(x, y, threshold) != -1;
     }
 
+    /**
+     * Compare the time spent to find the nearest points using the spatial index against the
+     * time spent checking all the points in sequence.
+     * The passed points will be searched, in sequence, for the given number of rounds by
+     * both methods.
+     * @param points    the points to search: x, y pairs
+     * @param threshold the threshold to define the checking area
+     * @param rounds    how many times search all the points
+     * @return          the nanoseconds spent: 0 - using the index, 1 - checking all the points
+     */
+    @SuppressWarnings({"unused"})
+    public long[] benchmarkPositionOnPath(float[] points, float threshold, int rounds) {
+        // Holders
+        long[] result = new long[2];
+
+        // Using the index
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round ++)
+            for (int index = 0; index < points.length - 1; index += 2)
+                this.findNearestPosition(points[index], points[index + 1], threshold);
+        result[0] = System.nanoTime() - start;
+
+        // Checking all the points
+        start = System.nanoTime();
+        for (int round = 0; round < rounds; round ++)
+            for (int index = 0; index < points.length - 1; index += 2)
+                this.findNearestPositionByScan(points[index], points[index + 1], threshold);
+        result[1] = System.nanoTime() - start;
+
+        // Return
+        return result;
+    }
+
+    /**
+     * Get the number of points of the path approximation.
+     * @return the points count
+     */
+    @SuppressWarnings({"unused"})
+    public int getApproximationCount() {
+        this.preparePoints();
+        return this.mPathPointsCount;
+    }
+
+    /**
+     * Get the distance from the path start of a point of the path approximation.
+     * @param index the point index
+     * @return      the distance
+     */
+    @SuppressWarnings({"unused"})
+    public float getApproximationDistance(int index) {
+        // Check the approximation type
+        this.preparePoints();
+        if (this.mPathDistances != null)
+            return this.mPathDistances[index];
+        else
+            return index * this.mLength / this.mPathPointsCount;
+    }
+
+    /**
+     * Get the point at the passed distance interpolating the two nearest points of the path
+     * approximation.
+     * @param distance  the distance from the path start
+     * @param point     the array where will save the point info: x, y and angle in degrees
+     * @return          false if the approximation is empty
+     */
+    @SuppressWarnings({"unused"})
+    public boolean getInterpolatedPoint(float distance, float[] point) {
+        // Check for empty value
+        int count = this.getApproximationCount();
+        if (count == 0)
+            return false;
+
+        // Find the previous point and interpolate it with the next one
+        int index = this.findPathPointIndex(distance);
+        this.interpolatePathPoint(index, distance, point);
+
+        // Found
+        return true;
+    }
+
+    /**
+     * Read a point of the path approximation without copy the whole approximation.
+     * @param index the point index
+     * @param point the array where will save the point info: x, y and angle in degrees
+     */
+    @SuppressWarnings({"unused"})
+    public void getApproximationPoint(int index, float[] point) {
+        // Holders
+        this.preparePoints();
+        int position = index * ScPathMeasure.POINT_SIZE;
+
+        // Read
+        point[0] = this.mPathPoints[position];
+        point[1] = this.mPathPoints[position + 1];
+        point[2] = this.mPathPoints[position + 2];
+    }
+
+    /**
+     * Get a copy of the path points approximation of 1 pixel that the caller can freely
+     * change without affect this object.
+     * The points are stored in sequence: x, y and angle in degrees for each point.
+     * If the destination array is not null and is big enough will be used to store the
+     * copy, else will be created a new one.
+     * @param destination the array where to copy the approximation, can be null
+     * @return the array holding the copy
+     */
+    @SuppressWarnings({"unused"})
+    public float[] copyApproximation(float[] destination) {
+        // Check if the destination is usable
+        int length = this.getApproximationCount() * ScPathMeasure.POINT_SIZE;
+        if (destination == null || destination.length < length)
+            destination = new float[length];
+
+        // Copy
+        System.arraycopy(this.mPathPoints, 0, destination, 0, length);
+        return destination;
+    }
+
     /**
      * Get a path points approximation of 1 pixel.
      * @return x, y and angle in degrees.
+     * @deprecated use getApproximationPoint or copyApproximation instead.
      */
     @SuppressWarnings({"unused"})
+    @Deprecated
     public float[][] getApproximation() {
-        // Return a copy
-        return Arrays.copyOf(this.mPathPoints, this.mPathPoints.length);
+        // Create a copy
+        float[][] points = new float[this.getApproximationCount()][];
+        for (int index = 0; index < points.length; index ++) {
+            int position = index * ScPathMeasure.POINT_SIZE;
+            points[index] = Arrays.copyOfRange(
+                    this.mPathPoints, position, position + ScPathMeasure.POINT_SIZE);
+        }
+
+        // Return
+        return points;
+    }
+
+
+    // ***************************************************************************************
+    // Public properties
+
+    /**
+     * Set the max error, in pixels, allowed to the points approximation.
+     * If zero the path will be approximated with a point for every pixel, else the points will
+     * be placed considering the path curvature so that the less curved segments will need
+     * less points. In this last case the position, the tangent and the nearest point will be
+     * interpolated using the approximated points.
+     * @param value the max error in pixels
+     */
+    @SuppressWarnings({"unused"})
+    public void setTolerance(float value) {
+        // Fix the value
+        if (value < 0.0f) value = 0.0f;
+
+        // Check if value is changed
+        if (this.mTolerance != value) {
+            // Store the new value and release the approximation.
+            // The contours not depend by the tolerance so can be kept.
+            this.mTolerance = value;
+            this.invalidateApproximation();
+        }
+    }
+
+    /**
+     * Get the max error, in pixels, allowed to the points approximation.
+     * If zero the path is approximated with a point for every pixel.
+     * @return the max error in pixels
+     */
+    @SuppressWarnings({"unused"})
+    public float getTolerance() {
+        return this.mTolerance;
     }
 }
@@ -134,6 +134,16 @@ public class ScPointer extends ScNotches {
         super.onDraw(canvas, info);
     }
 
+    /**
+     * Get the max distance from the path that the pointer can reach.
+     * The halo is drawn around the notch with its own stroke.
+     * @return the distance
+     */
+    @Override
+    protected float getDrawingExtent() {
+        return super.getDrawingExtent() + this.mHaloWidth;
+    }
+
     /**
      * Implement a copy of this object
      * @param destination the destination object
@@ -191,6 +201,34 @@ public class ScPointer extends ScNotches {
         // Do nothing
     }
 
+    /**
+     * Disable this method as the pointer draw its halo over every notch.
+     * @param value the status
+     */
+    @SuppressWarnings("unused")
+    @Override
+    public void setBatchDrawing(boolean value) {
+        // Do nothing
+    }
+
+    /**
+     * Get the impact on the drawing of a property change.
+     * @param name  the property name
+     * @return      the impact
+     */
+    @Override
+    public PropertyImpact getPropertyImpact(String name) {
+        // The distance only move the pointer while the halo alpha and the pressed status
+        // only change the painting.
+        if ("distance".equals(name))
+            return PropertyImpact.TRANSFORM;
+        if ("haloAlpha".equals(name) || "pressed".equals(name))
+            return PropertyImpact.REPAINT;
+
+        // Super
+        return super.getPropertyImpact(name);
+    }
+
 
     // ***************************************************************************************
     // Public methods
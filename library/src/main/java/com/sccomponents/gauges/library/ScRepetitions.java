@@ -6,9 +6,6 @@ import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.RectF;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-
 /**
  * This class extends the ScFeature give to it the possibility to manage the repetitions.
  *
@@ -31,6 +28,23 @@ public abstract class ScRepetitions extends ScFeature {
     private RepetitionInfo mRepetitionInfo;
     private Positions mEdges;
 
+    // Layout table of the repetitions.
+    // The rows are stored in sequence, one for each contour, and rebuilt only when the feature
+    // revision or the path changes.
+    private float[] mLayoutDistances;
+    private float[] mLayoutPoints;
+    private float[] mLayoutTangents;
+    private int[] mLayoutColors;
+    private boolean[] mLayoutVisibles;
+    private int[] mLayoutRowStarts;
+    private int[] mLayoutRowCounts;
+    private int mLayoutSize;
+    private int mLayoutRevision;
+    private Path mLayoutPath;
+    private ScGeometry mLayoutGeometry;
+    private int mLayoutRow;
+    private float[] mGenericPoint;
+
     // Listener
     private OnDrawRepetitionListener mOnDrawListener;
 
@@ -51,8 +65,14 @@ public abstract class ScRepetitions extends ScFeature {
         this.mLastRepetitionOnPathEnd = true;
         this.mEdges = Positions.MIDDLE;
 
+        // Layout
+        this.mLayoutSize = 0;
+        this.mLayoutRevision = -1;
+        this.mLayoutRow = -1;
+
         // Generic
         this.mRepetitionInfo = new RepetitionInfo();
+        this.mGenericPoint = new float[2];
     }
 
 
@@ -90,6 +110,30 @@ public abstract class ScRepetitions extends ScFeature {
     @SuppressWarnings("unused")
     protected abstract void onDraw(Canvas canvas, RepetitionInfo info);
 
+    /**
+     * Add the repetition to the current drawing batch instead of drawing it directly.
+     * This methods must be overridden by the inherited classes able to merge many repetitions
+     * in a single drawing call.
+     * @param canvas    where draw
+     * @param info      the repetition info
+     * @return          false if the repetition must be drawn directly
+     * @hide
+     */
+    @SuppressWarnings("unused")
+    protected boolean batchRepetition(Canvas canvas, RepetitionInfo info) {
+        return false;
+    }
+
+    /**
+     * Draw all the repetitions held by the current drawing batch.
+     * @param canvas where draw
+     * @hide
+     */
+    @SuppressWarnings("unused")
+    protected void flushBatch(Canvas canvas) {
+        // Do nothing
+    }
+
 
     // ***************************************************************************************
     // Private methods
@@ -108,6 +152,153 @@ public abstract class ScRepetitions extends ScFeature {
                 this.mRepetitions - 1: this.mRepetitions;
     }
 
+    /**
+     * Round a distance to the first decimal for compare it with the limits.
+     * @param value the value to round
+     * @return      the rounded value
+     */
+    private static float toRoundedFloat(float value) {
+        return (float) (Math.floor(value * 10.0) / 10.0);
+    }
+
+    /**
+     * Check if a distance is inside the limits comparing the values rounded to the first
+     * decimal.
+     * @param distance  the distance to check
+     * @param min       the start limit
+     * @param max       the end limit
+     * @return          true if inside
+     */
+    private static boolean isInsideLimits(float distance, float min, float max) {
+        float rounded = ScRepetitions.toRoundedFloat(distance);
+        return rounded >= ScRepetitions.toRoundedFloat(min) &&
+                rounded <= ScRepetitions.toRoundedFloat(max);
+    }
+
+    /**
+     * Invalidate the layout table if the feature revision or the path geometry are changed.
+     * @param geometry the current path geometry
+     */
+    private void checkLayout(ScGeometry geometry) {
+        // Check for changes
+        int contours = geometry.countContours();
+        if (this.mLayoutRevision == this.getRevision() && this.mLayoutGeometry == geometry &&
+                this.mLayoutRowStarts != null && this.mLayoutRowStarts.length == contours)
+            return ;
+
+        // Reset the table
+        this.mLayoutRevision = this.getRevision();
+        this.mLayoutGeometry = geometry;
+        this.mLayoutSize = 0;
+
+        // Reset the rows
+        if (this.mLayoutRowStarts == null || this.mLayoutRowStarts.length != contours) {
+            this.mLayoutRowStarts = new int[contours];
+            this.mLayoutRowCounts = new int[contours];
+        }
+        for (int index = 0; index < contours; index ++)
+            this.mLayoutRowStarts[index] = -1;
+    }
+
+    /**
+     * Check the layout table capacity and grow it if needed.
+     * @param size the needed size
+     */
+    private void ensureLayoutCapacity(int size) {
+        // Check the current capacity
+        if (this.mLayoutDistances != null && this.mLayoutDistances.length >= size)
+            return ;
+
+        // Find the new capacity
+        int capacity = this.mLayoutDistances == null ? 0: this.mLayoutDistances.length;
+        capacity = Math.max(size, capacity * 2);
+
+        // Create the new arrays holding the old values
+        float[] distances = new float[capacity];
+        float[] points = new float[capacity * 2];
+        float[] tangents = new float[capacity];
+        int[] colors = new int[capacity];
+        boolean[] visibles = new boolean[capacity];
+
+        if (this.mLayoutDistances != null) {
+            System.arraycopy(this.mLayoutDistances, 0, distances, 0, this.mLayoutSize);
+            System.arraycopy(this.mLayoutPoints, 0, points, 0, this.mLayoutSize * 2);
+            System.arraycopy(this.mLayoutTangents, 0, tangents, 0, this.mLayoutSize);
+            System.arraycopy(this.mLayoutColors, 0, colors, 0, this.mLayoutSize);
+            System.arraycopy(this.mLayoutVisibles, 0, visibles, 0, this.mLayoutSize);
+        }
+
+        // Store
+        this.mLayoutDistances = distances;
+        this.mLayoutPoints = points;
+        this.mLayoutTangents = tangents;
+        this.mLayoutColors = colors;
+        this.mLayoutVisibles = visibles;
+    }
+
+    /**
+     * Select the layout table row of the passed contour building it if not exists yet.
+     * Must be called at drawing time as the values are related to the current contour.
+     * @param contour   the contour index
+     * @param count     the repetitions count
+     */
+    private void selectLayoutRow(int contour, int count) {
+        // Check the domain
+        int row = contour - 1;
+        if (row < 0 || row >= this.mLayoutRowStarts.length) {
+            this.mLayoutRow = -1;
+            return ;
+        }
+
+        // Check if already built
+        if (this.mLayoutRowStarts[row] != -1 && this.mLayoutRowCounts[row] == count) {
+            this.mLayoutRow = row;
+            return ;
+        }
+
+        // Append the new row to the table
+        int start = this.mLayoutSize;
+        this.ensureLayoutCapacity(start + count);
+        this.mLayoutSize += count;
+        this.mLayoutRowStarts[row] = start;
+        this.mLayoutRowCounts[row] = count;
+        this.mLayoutRow = row;
+
+        // Limits
+        float min = this.getStartAtDistance();
+        float max = this.getEndToDistance();
+
+        // Fill the row
+        for (int repetition = 1; repetition <= count; repetition ++) {
+            // Holders
+            int index = start + repetition - 1;
+            float distance = this.getDistance(repetition);
+
+            // Store the values
+            this.mLayoutDistances[index] = distance;
+            this.mLayoutTangents[index] = this.getPointAndAngle(distance, this.mGenericPoint);
+            this.mLayoutPoints[index * 2] = this.mGenericPoint[0];
+            this.mLayoutPoints[index * 2 + 1] = this.mGenericPoint[1];
+            this.mLayoutColors[index] = this.getGradientColor(distance);
+            this.mLayoutVisibles[index] = ScRepetitions.isInsideLimits(distance, min, max);
+        }
+    }
+
+    /**
+     * Get the index inside the layout table of a repetition of the current drawing contour.
+     * @param repetition    the repetition index
+     * @return              the table index or -1 if not found
+     */
+    private int getLayoutIndex(int repetition) {
+        // Check the domain
+        if (!this.isDrawing() || this.mLayoutRow == -1 ||
+                repetition < 1 || repetition > this.mLayoutRowCounts[this.mLayoutRow])
+            return -1;
+
+        // Find the index
+        return this.mLayoutRowStarts[this.mLayoutRow] + repetition - 1;
+    }
+
     /**
      * Draw a single repetition.
      * This method is implemented just for give the possibility to override it for some
@@ -143,6 +334,10 @@ public abstract class ScRepetitions extends ScFeature {
         // Holders
         int repetitions = this.getCalculatedRepetitions();
 
+        // Select the layout of the contour
+        this.checkLayout(this.getMeasure());
+        this.selectLayoutRow(contour, repetitions);
+
         // Cycle all the repetition
         for (int repetition = 1; repetition <= repetitions; repetition ++) {
             // Get the drawing info
@@ -152,14 +347,20 @@ public abstract class ScRepetitions extends ScFeature {
             if (this.mOnDrawListener != null)
                 this.mOnDrawListener.onDrawRepetition(this, info);
 
-            // Check for visibility
-            if (info.visible) {
+            // Check for visibility and try to add the repetition to the batch
+            if (info.visible && !this.batchRepetition(canvas, info)) {
                 // Call the draw for the single repetition
                 canvas.save();
                 this.drawRepetition(canvas, info);
                 canvas.restore();
             }
         }
+
+        // Draw the remaining batch
+        this.flushBatch(canvas);
+
+        // Release the layout row
+        this.mLayoutRow = -1;
     }
 
     /**
@@ -195,10 +396,28 @@ public abstract class ScRepetitions extends ScFeature {
         if (this.mRepetitions == 0 && this.mSpaceBetween == 0)
             return ;
 
+        // If the path is changed the layout table must be rebuilt
+        if (this.mLayoutPath != path) {
+            this.mLayoutPath = path;
+            this.mLayoutRevision = -1;
+        }
+
         // Call the super
         super.draw(canvas, path, matrix);
     }
 
+    /**
+     * Get the bounds, in the path space, of the area where the feature will draw.
+     * If the repetition draw listener is defined the drawing could be moved everywhere so the
+     * bounds will be considered unknown.
+     * @param bounds    where to save the bounds
+     * @return          false if the bounds are unknown
+     */
+    @Override
+    protected boolean getDrawingBounds(RectF bounds) {
+        return this.mOnDrawListener == null && super.getDrawingBounds(bounds);
+    }
+
     /**
      * Get the calculated repetition than could displayed on this path.
      * The calculation will executed just if the space between property is set.
@@ -520,8 +739,6 @@ public abstract class ScRepetitions extends ScFeature {
         // ***************************************************************************************
         // Properties
 
-        private float[] mGenericPoint;
-
         public ScRepetitions source;
         public int repetition;
 
@@ -536,41 +753,44 @@ public abstract class ScRepetitions extends ScFeature {
         public float[] point;
         public float[] scale;
 
+        private float mPointDistance;
+
 
         // ***************************************************************************************
         // Constructor
 
         public RepetitionInfo() {
-            this.mGenericPoint = new float[2];
             this.offset = new float[2];
             this.point = new float[2];
             this.scale = new float[2];
         }
 
-        // ***************************************************************************************
-        // Private methods
-
-        private float toRoundedFloat(float value) {
-            return new BigDecimal(value)
-                    .setScale(1, RoundingMode.FLOOR)
-                    .floatValue();
-        }
-
         // ***************************************************************************************
         // Public methods
 
         public void reset(ScRepetitions feature, int contour, int repetition) {
-            // Holder
-            float distance = feature.getDistance(repetition);
-            float tangent = feature.getPointAndAngle(distance, this.mGenericPoint);
-
-            float minRounded = this.toRoundedFloat(feature.getStartAtDistance());
-            float maxRounded = this.toRoundedFloat(feature.getEndToDistance());
-            float distanceRounded = this.toRoundedFloat(distance);
+            // Read the values from the layout table if possible
+            int index = feature.getLayoutIndex(repetition);
+            if (index != -1) {
+                this.distance = feature.mLayoutDistances[index];
+                this.tangent = feature.mLayoutTangents[index];
+                this.point[0] = feature.mLayoutPoints[index * 2];
+                this.point[1] = feature.mLayoutPoints[index * 2 + 1];
+                this.color = feature.getColors() == null ?
+                        feature.getPainter().getColor(): feature.mLayoutColors[index];
+                this.visible = feature.mLayoutVisibles[index];
+
+            } else {
+                // Calculate the values
+                this.distance = feature.getDistance(repetition);
+                this.tangent = feature.getPointAndAngle(this.distance, this.point);
+                this.color = feature.getGradientColor(this.distance);
+                this.visible = ScRepetitions.isInsideLimits(
+                        this.distance, feature.getStartAtDistance(), feature.getEndToDistance());
+            }
 
-            // Find the center as the point on path
-            this.point[0] = this.mGenericPoint[0];
-            this.point[1] = this.mGenericPoint[1];
+            // The distance where the point was calculated
+            this.mPointDistance = this.distance;
 
             // Reset the offset and the scale
             this.offset[0] = 0.0f;
@@ -581,13 +801,18 @@ public abstract class ScRepetitions extends ScFeature {
             // Reset the drawing info
             this.source = feature;
             this.repetition = repetition;
-            this.distance = distance;
-            this.tangent = tangent;
             this.angle = 0.0f;
             this.position = feature.getPosition();
-            this.color = feature.getGradientColor(distance);
-            this.visible = distanceRounded >= minRounded &&
-                    distanceRounded <= maxRounded;
+        }
+
+        /**
+         * Check if the point was calculated at the current distance.
+         * The draw listener could change the distance after the point was calculated.
+         * @return true if the point is at the current distance
+         * @hide
+         */
+        boolean isPointAtDistance() {
+            return Float.compare(this.mPointDistance, this.distance) == 0;
         }
 
     }
@@ -2,11 +2,13 @@ package com.sccomponents.gauges.library;
 
 import android.graphics.Canvas;
 import android.graphics.Color;
+import android.graphics.Matrix;
 import android.graphics.Paint;
-import android.graphics.Path;
 import android.graphics.Rect;
+import android.graphics.Typeface;
 
 import java.util.Arrays;
+import java.util.HashMap;
 
 
 /**
@@ -22,6 +24,12 @@ import java.util.Arrays;
 @SuppressWarnings("FieldMayBeFinal")
 public class ScWriter extends ScRepetitions {
 
+    // ***************************************************************************************
+    // Constants
+
+    private static final int LAYOUTS_CACHE_SIZE = 256;
+
+
     // ***************************************************************************************
     // Private variables
 
@@ -38,8 +46,11 @@ public class ScWriter extends ScRepetitions {
     private float[] mLastPoint;
 
     private Rect mGenericRect;
+    private Matrix mGenericMatrix;
     private TokenInfo mRepetitionInfo;
     private Paint mBackgroundPaint;
+    private Paint.FontMetrics mFontMetrics;
+    private HashMap<String, TextLayout> mLayouts;
 
 
     /****************************************************************************************
@@ -64,6 +75,9 @@ public class ScWriter extends ScRepetitions {
         this.mGenericPoint = new float[2];
         this.mLastPoint = new float[2];
         this.mGenericRect = new Rect();
+        this.mGenericMatrix = new Matrix();
+        this.mFontMetrics = new Paint.FontMetrics();
+        this.mLayouts = new HashMap<>();
 
         // Update the painter
         Paint painter = this.getPainter();
@@ -81,34 +95,69 @@ public class ScWriter extends ScRepetitions {
     // Private methods
 
     /**
-     * Get the text boundaries.
-     * As we can have a multiline string we must find the max boundaries calculated on all
-     * the rows in the string.
-     * @param text the text to check
-     * @return the bounds in rect
+     * Get the text layout measured with the current painter settings.
+     * The layouts are cached and measured again only if the painter settings are changed.
+     * @param text  the text to measure
+     * @return      the layout
      */
-    private Rect getBounds(String text) {
-        // Holder
-        String[] rows = this.getTextRows(text);
+    private TextLayout getTextLayout(String text) {
+        // Holders
         Paint painter = this.getPainter();
+        float textSize = painter.getTextSize();
+        Typeface typeface = painter.getTypeface();
+        Paint.Align align = painter.getTextAlign();
+
+        // Find the layout inside the cache
+        TextLayout layout = this.mLayouts.get(text);
+        if (layout != null && layout.textSize == textSize && layout.typeface == typeface &&
+                layout.align == align && layout.bending == this.mBending &&
+                layout.letterSpacing == this.mLetterSpacing)
+            return layout;
+
+        // Create a new one limiting the cache size
+        if (layout == null) {
+            if (this.mLayouts.size() >= ScWriter.LAYOUTS_CACHE_SIZE)
+                this.mLayouts.clear();
+
+            layout = new TextLayout();
+            this.mLayouts.put(text, layout);
+        }
 
-        int width = 0;
-        int height = 0;
+        // Save the settings
+        layout.textSize = textSize;
+        layout.typeface = typeface;
+        layout.align = align;
+        layout.bending = this.mBending;
+        layout.letterSpacing = this.mLetterSpacing;
+
+        // Divide the text in rows
+        String[] rows = this.getTextRows(text);
+        layout.rows = rows;
+        layout.rowsWidth = new int[rows.length];
+        layout.rowsHeight = new int[rows.length];
+        layout.rowsOffset = new float[rows.length];
+        layout.rowsGlyphs = new GlyphsLayout[rows.length];
+        layout.width = 0;
+        layout.height = 0;
 
         // Cycle each rows within the string
-        for (String row : rows) {
+        for (int index = 0; index < rows.length; index ++) {
             // Get the current row dimensions
-            painter.getTextBounds(row, 0, row.length(), this.mGenericRect);
+            String row = rows[index];
+            Rect bounds = this.getTextBounds(row, 0, row.length());
 
-            // Fix the current values
-            if (width < this.mGenericRect.width())
-                width = this.mGenericRect.width();
-            height += this.mGenericRect.height();
+            layout.rowsWidth[index] = bounds.width();
+            layout.rowsHeight[index] = bounds.height();
+            layout.rowsOffset[index] = this.getHorizontalOffset(row, bounds.width());
+
+            // Fix the global values
+            if (layout.width < bounds.width())
+                layout.width = bounds.width();
+            layout.height += bounds.height();
         }
 
-        // Fix the new values and return
-        this.mGenericRect.set(0, 0, width, height);
-        return this.mGenericRect;
+        // Return
+        return layout;
     }
 
     /**
@@ -123,33 +172,22 @@ public class ScWriter extends ScRepetitions {
             return text.split("\\n");
     }
 
-    /**
-     * In case of multiline get back the the number of rows.
-     * NOTE: the separator is "\n"
-     * @param text the passed text
-     * @return the number of rows
-     */
-    private int getTextRowsCount(String text) {
-        return this.getTextRows(text).length;
-    }
-
     /**
      * Calculate the extra vertical offset by the text position respect to the path.
      * This method consider multiline text also.
-     * @param info the token info
+     * @param info      the token info
+     * @param layout    the text layout
      * @return the extra vertical offset
      */
-    private float getVerticalOffset(TokenInfo info) {
+    private float getVerticalOffset(TokenInfo info, TextLayout layout) {
         // Return the calculated offset considering the text rows number
-        int rows = this.getTextRowsCount(info.text);
-        Rect bounds = this.getBounds(info.text);
-        int singleRowHeight = bounds.height() / rows;
+        int singleRowHeight = layout.height / layout.rows.length;
 
         if (info.position == Positions.MIDDLE)
-            return singleRowHeight - bounds.height() / 2.0f;
+            return singleRowHeight - layout.height / 2.0f;
 
         if (info.position == Positions.OUTSIDE)
-            return singleRowHeight - bounds.height();
+            return singleRowHeight - layout.height;
 
         return 0.0f;
     }
@@ -165,12 +203,12 @@ public class ScWriter extends ScRepetitions {
             return 0.0f;
 
         // Return the calculated offset
-        Paint painter = this.getPainter();
+        this.getPainter().getFontMetrics(this.mFontMetrics);
         if (info.position == Positions.OUTSIDE)
-            return painter.getFontMetrics().bottom;
+            return this.mFontMetrics.bottom;
 
         if (info.position == Positions.INSIDE)
-            return painter.getFontMetrics().top;
+            return this.mFontMetrics.top;
 
         return 0.0f;
     }
@@ -192,15 +230,6 @@ public class ScWriter extends ScRepetitions {
         return rect;
     }
 
-    /**
-     * Get the text with using the current painter
-     * @param text the source
-     * @return the width
-     */
-    private int getTextWidth(String text) {
-        return this.getTextBounds(text, 0, text.length()).width();
-    }
-
     /**
      * Passed the font size calculate the letters spacing
      * @return the letter spacing
@@ -213,10 +242,11 @@ public class ScWriter extends ScRepetitions {
     /**
      * Get the horizontal offset where start to draw the text considering the current
      * painter alignment.
-     * @param text the source text
+     * @param text    the source text
+     * @param width   the text width
      * @return the start position
      */
-    private float getHorizontalOffset(String text) {
+    private float getHorizontalOffset(String text, float width) {
         // Holder
         Paint.Align align = this.getPainter().getTextAlign();
 
@@ -225,7 +255,6 @@ public class ScWriter extends ScRepetitions {
             return 0.0f;
 
         // Correct for bending
-        float width = this.getTextWidth(text);
         if (this.getBending() && text.length() > 1)
             width += this.getInternalLetterSpacing() * (text.length() - 2);
 
@@ -264,102 +293,178 @@ public class ScWriter extends ScRepetitions {
     }
 
     /**
-     * Draw raw text on canvas
-     * @param canvas where to draw
-     * @param token  what to draw
-     * @param bounds the drawing position
+     * Get the glyphs layout of a text row measuring the bounds of every glyph.
+     * The glyphs are measured only once for layout.
+     * @param layout    the text layout
+     * @param row       the row index
+     * @return          the glyphs layout
      */
-    private void drawText(Canvas canvas, char token, Rect bounds) {
-        // Draw the text
+    private GlyphsLayout getGlyphsLayout(TextLayout layout, int row) {
+        // Check if already measured
+        GlyphsLayout glyphs = layout.rowsGlyphs[row];
+        if (glyphs != null)
+            return glyphs;
+
+        // Create
+        glyphs = new GlyphsLayout();
+        glyphs.chars = layout.rows[row].toCharArray();
+        glyphs.bounds = new int[glyphs.chars.length * 3];
+        glyphs.placements = new float[glyphs.chars.length * 3];
+        glyphs.revision = -1;
+        layout.rowsGlyphs[row] = glyphs;
+
+        // Measure every glyph saving the left, the bottom and the width
         Paint painter = this.getPainter();
-        canvas.drawText(
-                Character.toString(token),
-                bounds.left,
-                bounds.top,
-                painter
-        );
+        for (int index = 0; index < glyphs.chars.length; index ++) {
+            painter.getTextBounds(glyphs.chars, index, 1, this.mGenericRect);
+            glyphs.bounds[index * 3] = this.mGenericRect.left;
+            glyphs.bounds[index * 3 + 1] = this.mGenericRect.bottom;
+            glyphs.bounds[index * 3 + 2] = this.mGenericRect.width();
+        }
+
+        // Return
+        return glyphs;
     }
 
     /**
-     * Draw some text on the passed path.
-     * Can draw on multi contours and before and after the path. If before of after it will
+     * Find the position and the rotation of every glyph on the path.
+     * Can place on multi contours and before and after the path. If before of after it will
      * follow a straight line along the angle of the related first or last point of the path.
-     * This method draw each characters of the string one by one and this will have effect on
-     * the method performance.
-     * @param canvas   where to draw
-     * @param token    the text to draw
-     * @param distance the start distance
-     * @param angle    the start angle
-     * @param offsetY  the vertical offset
-     */
-    private void drawTextOnPath(Canvas canvas, String token, float distance,
-                                float offsetY, float angle, boolean drawBackground) {
-        // The text align must fixed to left and restore at the end of this procedure
-        Paint painter = this.getPainter();
-        Paint.Align oldAlign = painter.getTextAlign();
-        painter.setTextAlign(Paint.Align.LEFT);
+     * The placements are calculated again only if the starting settings or the path change.
+     * @param glyphs     the glyphs layout
+     * @param distance   the start distance
+     * @param offsetY    the vertical offset
+     * @param angle      the start angle
+     * @param textHeight the text height
+     */
+    private void placeGlyphs(GlyphsLayout glyphs, float distance, float offsetY,
+                             float angle, int textHeight) {
+        // Check if the placements are still valid
+        float pathLength = this.getMeasure().getLength();
+        if (glyphs.revision == this.getRevision() && glyphs.distance == distance &&
+                glyphs.offsetY == offsetY && glyphs.angle == angle &&
+                glyphs.length == pathLength && glyphs.x == this.mFirstPoint[0] &&
+                glyphs.y == this.mFirstPoint[1])
+            return ;
+
+        // Save the settings
+        glyphs.revision = this.getRevision();
+        glyphs.distance = distance;
+        glyphs.offsetY = offsetY;
+        glyphs.angle = angle;
+        glyphs.length = pathLength;
+        glyphs.x = this.mFirstPoint[0];
+        glyphs.y = this.mFirstPoint[1];
 
         // Holders
         float currentPos = distance;
-        int textHeight = this.getTextBounds(token, 0, token.length()).height();
         float letterSpacing = this.getInternalLetterSpacing();
+        float[] placements = glyphs.placements;
 
         // Get the last point info of the whole path
-        float pathLength = this.getMeasure().getLength();
         float lastPointAngle = this.getPointAndAngle(pathLength, this.mLastPoint);
 
-        // Draw chars per chars
-        for (int index = 0, len = token.length(); index < len; index++) {
-            // Save the canvas status
-            canvas.save();
-
+        // Place chars per chars
+        for (int index = 0, len = glyphs.chars.length; index < len; index++) {
             // Holder
-            char currentChar = token.charAt(index);
-            Rect textBounds = this.getTextBounds(token, index, index + 1);
-            textBounds.top = textBounds.bottom - textHeight;
+            int left = glyphs.bounds[index * 3];
+            int bottom = glyphs.bounds[index * 3 + 1] - textHeight;
+            int width = glyphs.bounds[index * 3 + 2];
+            float rotation = 0.0f;
+            this.mGenericMatrix.reset();
 
-            // Draw before the paths
+            // Before the paths
             if (currentPos < 0) {
                 // Fix the bounds
-                int x = (int)(this.mFirstPoint[0] + currentPos);
-                int y = (int)(this.mFirstPoint[1] + offsetY);
-                textBounds.offset(x, y);
+                placements[index * 3] = (int)(this.mFirstPoint[0] + currentPos) + left;
+                placements[index * 3 + 1] = (int)(this.mFirstPoint[1] + offsetY) + bottom;
+
+            } else if (currentPos <= pathLength) {
+                // On path rotate on the original point and after on the current point
+                float currentAngle = this.getPointAndAngle(currentPos, this.mGenericPoint);
+                this.mGenericMatrix.setRotate(-angle, this.mFirstPoint[0], this.mFirstPoint[1]);
+                this.mGenericMatrix.preRotate(
+                        currentAngle, this.mGenericPoint[0], this.mGenericPoint[1]);
+                rotation = currentAngle - angle;
+
+                // Fix the bounds offset
+                placements[index * 3] = (int)(this.mGenericPoint[0]) + left;
+                placements[index * 3 + 1] = (int)(this.mGenericPoint[1] + offsetY) + bottom;
 
             } else {
-                // Draw on path
-                Path path = this.getMeasure().getPath(currentPos);
-                if (path != null) {
-                    // Rotate on the original point
-                    canvas.rotate(-angle, this.mFirstPoint[0], this.mFirstPoint[1]);
-
-                    // Rotate on the current point
-                    float currentAngle = this.getPointAndAngle(currentPos, this.mGenericPoint);
-                    canvas.rotate(currentAngle, this.mGenericPoint[0], this.mGenericPoint[1]);
-
-                    // Fix the bounds offset
-                    int x = (int)(this.mGenericPoint[0]);
-                    int y = (int)(this.mGenericPoint[1] + offsetY);
-                    textBounds.offset(x, y);
-
-                } else {
-                    // Draw after path
-                    int x = (int)(this.mLastPoint[0] + currentPos - pathLength);
-                    int y = (int)(this.mLastPoint[1] + offsetY);
-                    textBounds.offset(x, y);
-
-                    // Adjust rotation
-                    canvas.rotate(lastPointAngle, this.mLastPoint[0], this.mLastPoint[1]);
-                }
+                // After path
+                placements[index * 3] = (int)(this.mLastPoint[0] + currentPos - pathLength) + left;
+                placements[index * 3 + 1] = (int)(this.mLastPoint[1] + offsetY) + bottom;
+
+                // Adjust rotation
+                this.mGenericMatrix.setRotate(
+                        lastPointAngle, this.mLastPoint[0], this.mLastPoint[1]);
+                rotation = lastPointAngle;
             }
 
+            // Move the glyph origin where the rotation bring it and save the rotation
+            this.mGenericMatrix.mapPoints(placements, index * 3, placements, index * 3, 1);
+            placements[index * 3 + 2] = rotation;
+
+            // Increase the current position
+            currentPos += width + letterSpacing;
+        }
+    }
+
+    /**
+     * Draw some text on the passed path.
+     * Can draw on multi contours and before and after the path. If before of after it will
+     * follow a straight line along the angle of the related first or last point of the path.
+     * This method draw each characters of the string one by one rotating the canvas on the
+     * glyphs placements.
+     * @param canvas     where to draw
+     * @param layout     the text layout
+     * @param row        the row index
+     * @param distance   the start distance
+     * @param offsetY    the vertical offset
+     * @param angle      the start angle
+     */
+    private void drawTextOnPath(Canvas canvas, TextLayout layout, int row, float distance,
+                                float offsetY, float angle, boolean drawBackground) {
+        // Draw the background just if needs
+        if (drawBackground && this.mBackgroundPaint.getColor() == Color.TRANSPARENT)
+            return ;
+
+        // The text align must fixed to left and restore at the end of this procedure
+        Paint painter = this.getPainter();
+        Paint.Align oldAlign = painter.getTextAlign();
+        painter.setTextAlign(Paint.Align.LEFT);
+
+        // Find the glyphs placements
+        int textHeight = layout.rowsHeight[row];
+        GlyphsLayout glyphs = this.getGlyphsLayout(layout, row);
+        this.placeGlyphs(glyphs, distance, offsetY, angle, textHeight);
+
+        // Holders
+        float[] placements = glyphs.placements;
+        float halfSpacing = this.getInternalLetterSpacing() / 2 + this.mPadding;
+
+        // Draw chars per chars
+        for (int index = 0, len = glyphs.chars.length; index < len; index++) {
+            // Holders
+            float x = placements[index * 3];
+            float y = placements[index * 3 + 1];
+
+            // Save the canvas status and rotate
+            canvas.save();
+            canvas.rotate(placements[index * 3 + 2], x, y);
+
             // Draw
             if (drawBackground)
-                this.drawBackground(canvas, textBounds, letterSpacing);
+                canvas.drawRect(
+                        x - halfSpacing,
+                        y - textHeight - this.mPadding,
+                        x + glyphs.bounds[index * 3 + 2] + halfSpacing,
+                        y + this.mPadding,
+                        this.mBackgroundPaint
+                );
             else
-                this.drawText(canvas, currentChar, textBounds);
-
-            // Increase the current position
-            currentPos += textBounds.width() + letterSpacing;
+                canvas.drawText(glyphs.chars, index, 1, x, y, painter);
 
             // Restore the previous canvas state
             canvas.restore();
@@ -372,15 +477,17 @@ public class ScWriter extends ScRepetitions {
     /**
      * Draw the single token on the path
      * @param canvas where to draw
-     * @param token  the text to draw
+     * @param layout the text layout
+     * @param row    the row index
      * @param x      the point
      * @param y      the point
      * @param angle  the angle
      */
-    private void drawToken(Canvas canvas, String token, float x, float y,
+    private void drawToken(Canvas canvas, TextLayout layout, int row, float x, float y,
                            float angle, boolean drawBackground) {
         // Holders
-        Rect bounds = this.getBounds(token);
+        Rect bounds = this.mGenericRect;
+        bounds.set(0, 0, layout.rowsWidth[row], layout.rowsHeight[row]);
         int offsetY = bounds.centerY();
 
         // Save the state and rotate
@@ -390,14 +497,14 @@ public class ScWriter extends ScRepetitions {
         // Draw
         if (drawBackground) {
             // Fix the offset
-            x += this.getHorizontalOffset(token);
+            x += layout.rowsOffset[row];
             y += this.getPainter().getTextAlign() == Paint.Align.LEFT ? 0.0f: offsetY * 2;
             bounds.offset((int)x, (int)y);
 
             // Draw
             this.drawBackground(canvas, bounds, 0);
         } else
-            canvas.drawText(token, x, y, this.getPainter());
+            canvas.drawText(layout.rows[row], x, y, this.getPainter());
 
         // Restore the canvas status
         canvas.restore();
@@ -412,17 +519,17 @@ public class ScWriter extends ScRepetitions {
         // Get the current point and save the current canvas status
         this.getPoint(info.distance, this.mFirstPoint);
 
-        // Holders
-        Rect bounds = this.getBounds(info.text);
-        String[] rows = this.getTextRows(info.text);
-
-        float singleRowHeight = ((float) bounds.height()) / rows.length;
-        float offsetY = this.getVerticalOffset(info) - this.getFontMetricsOffset(info);
-
         // Font size
         Paint painter = this.getPainter();
         painter.setTextSize(info.size);
 
+        // Holders
+        TextLayout layout = this.getTextLayout(info.text);
+        String[] rows = layout.rows;
+
+        float singleRowHeight = ((float) layout.height) / rows.length;
+        float offsetY = this.getVerticalOffset(info, layout) - this.getFontMetricsOffset(info);
+
         // Interline for multi-rows text
         singleRowHeight += info.size * this.mInterline - info.size;
 
@@ -430,14 +537,15 @@ public class ScWriter extends ScRepetitions {
         this.mBackgroundPaint.setColor(this.mBackground);
 
         // Draw one line per time
-        for (String token : rows) {
+        for (int row = 0; row < rows.length; row ++) {
             // Draw
             if (info.bending) {
                 // Bending
-                float distance = info.distance + this.getHorizontalOffset(token);
+                float distance = info.distance + layout.rowsOffset[row];
                 this.drawTextOnPath(
                         canvas,
-                        token,
+                        layout,
+                        row,
                         distance,
                         offsetY + singleRowHeight,
                         info.tangent,
@@ -447,7 +555,8 @@ public class ScWriter extends ScRepetitions {
                 // Unbending
                 this.drawToken(
                         canvas,
-                        token,
+                        layout,
+                        row,
                         this.mFirstPoint[0],
                         this.mFirstPoint[1] + offsetY,
                         info.angle,
@@ -493,6 +602,66 @@ public class ScWriter extends ScRepetitions {
         }
     }
 
+    /**
+     * Get the max distance from the path that the tokens can reach.
+     * As the tokens can be rotated will be considered the sum of the max tokens width and
+     * height plus a row for the font metrics.
+     * @return the distance
+     */
+    @Override
+    protected float getDrawingExtent() {
+        return this.getTextsExtent(this.getTokens());
+    }
+
+    /**
+     * Get the max distance from the path that the passed texts can reach once drawn.
+     * @param tokens    the texts to measure
+     * @return          the distance
+     */
+    @SuppressWarnings("unused")
+    protected float getTextsExtent(String[] tokens) {
+        // Check for empty values
+        if (tokens == null)
+            return 0.0f;
+
+        // Holders
+        Paint painter = this.getPainter();
+        float rowHeight = painter.getTextSize() * Math.max(this.mInterline, 1.0f);
+        float extent = 0.0f;
+
+        // Cycle all tokens
+        for (String token : tokens) {
+            // Find the max row width
+            String[] rows = this.getTextRows(token);
+            float width = 0.0f;
+            for (String row : rows)
+                width = Math.max(width, painter.measureText(row) +
+                        this.getInternalLetterSpacing() * row.length());
+
+            // Find the token extent
+            extent = Math.max(extent, width + rowHeight * (rows.length + 1));
+        }
+
+        // Add the background padding
+        return extent + this.mPadding * 2;
+    }
+
+    /**
+     * Free the measured texts layouts when the tokens change.
+     * @param name  the property name
+     * @param value the property value
+     * @hide
+     */
+    @Override
+    protected void onPropertyChange(String name, Object value) {
+        // Clear the cache
+        if ("tokens".equals(name))
+            this.mLayouts.clear();
+
+        // Super
+        super.onPropertyChange(name, value);
+    }
+
     /**
      * Hide this property use to the user.
      * @param value the repetitions number
@@ -504,6 +673,21 @@ public class ScWriter extends ScRepetitions {
         // Do nothing
     }
 
+    /**
+     * Get the impact on the drawing of a property change.
+     * @param name  the property name
+     * @return      the impact
+     */
+    @Override
+    public PropertyImpact getPropertyImpact(String name) {
+        // The background only change the painting
+        if ("background".equals(name))
+            return PropertyImpact.REPAINT;
+
+        // Super
+        return super.getPropertyImpact(name);
+    }
+
 
     // ***************************************************************************************
     // Public methods
@@ -714,6 +898,60 @@ public class ScWriter extends ScRepetitions {
     }
 
 
+    // ***************************************************************************************
+    // Private classes
+
+    /**
+     * The measured layout of a text.
+     * Hold the settings used to measure it for check if still valid.
+     */
+    private static class TextLayout {
+
+        // ***************************************************************************************
+        // Properties
+
+        private float textSize;
+        private Typeface typeface;
+        private Paint.Align align;
+        private boolean bending;
+        private float letterSpacing;
+
+        private String[] rows;
+        private int[] rowsWidth;
+        private int[] rowsHeight;
+        private float[] rowsOffset;
+        private GlyphsLayout[] rowsGlyphs;
+        private int width;
+        private int height;
+
+    }
+
+    /**
+     * The measured glyphs of a text row and their placements on the path.
+     * The bounds hold left, bottom and width of every glyph while the placements hold the x,
+     * the y and the rotation of every glyph.
+     * Hold the settings used to place the glyphs for check if still valid.
+     */
+    private static class GlyphsLayout {
+
+        // ***************************************************************************************
+        // Properties
+
+        private char[] chars;
+        private int[] bounds;
+        private float[] placements;
+
+        private int revision;
+        private float distance;
+        private float offsetY;
+        private float angle;
+        private float length;
+        private float x;
+        private float y;
+
+    }
+
+
     // ***************************************************************************************
     // Public classes and methods
 
@@ -0,0 +1,142 @@
+package com.sccomponents.gauges.library;
+
+import org.junit.Test;
+
+import java.text.DecimalFormat;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+/**
+ * Compare the numbers formatted by the compiled patterns with the ones formatted by the
+ * DecimalFormat.
+ *
+ * @author Samuele Carassai
+ * @version 3.5.0
+ * @since 2016-05-26
+ */
+public class ScNumberFormatTest {
+
+    // ***************************************************************************************
+    // Constants
+
+    private static final String[] COMPILED_PATTERNS = new String[] {
+            "#", "0", "00", "#0.0", "#0.00", "0.###", "#,##0", "#,##0.00", "#,###,##0.#",
+            "#%", "0.0%", "'$'#,##0.00", "#0.0 'km/h'", "#.", "000.000"
+    };
+
+    private static final String[] FORMATTER_PATTERNS = new String[] {
+            "0.00E0", "#0.0;(#0.0)", "#,##,##0", "'#,##,##0' #,##,##0.00"
+    };
+
+    private static final int RANDOM_VALUES = 20000;
+
+
+    // ***************************************************************************************
+    // Private methods
+
+    /**
+     * Check that the compiled pattern format the value as the DecimalFormat.
+     * @param pattern   the pattern
+     * @param value     the value to format
+     */
+    private static void check(String pattern, float value) {
+        // Format
+        ScNumberFormat compiled = new ScNumberFormat(pattern);
+        DecimalFormat formatter = new DecimalFormat(pattern);
+
+        // Compare
+        assertEquals(
+                pattern + " " + value,
+                formatter.format(value),
+                compiled.format(value)
+        );
+    }
+
+    /**
+     * Check that the compiled pattern format all the values as the DecimalFormat.
+     * Is reused the same object for test the reused buffers too.
+     * @param pattern   the pattern
+     * @param values    the values to format
+     */
+    private static void check(String pattern, float[] values) {
+        // Holders
+        ScNumberFormat compiled = new ScNumberFormat(pattern);
+        DecimalFormat formatter = new DecimalFormat(pattern);
+
+        // Cycle all values
+        for (float value : values)
+            assertEquals(
+                    pattern + " " + value,
+                    formatter.format(value),
+                    compiled.format(value)
+            );
+    }
+
+    /**
+     * Create the values to test: the values on a grid of hundredths, the values near to the
+     * rounding limits and some random values.
+     * @return the values
+     */
+    private static float[] createValues() {
+        // Holders
+        Random random = new Random(0);
+        float[] values = new float[40001 + 2 * ScNumberFormatTest.RANDOM_VALUES];
+        int count = 0;
+
+        // The grid
+        for (int index = -20000; index <= 20000; index ++)
+            values[count ++] = index / 100.0f;
+
+        // The random values on different magnitudes
+        for (int index = 0; index < ScNumberFormatTest.RANDOM_VALUES; index ++) {
+            values[count ++] = (random.nextFloat() - 0.5f) * 2.0f;
+            values[count ++] = (random.nextFloat() - 0.5f) * 2e7f;
+        }
+
+        // Return the values
+        return values;
+    }
+
+
+    // ***************************************************************************************
+    // Tests
+
+    @Test
+    public void compiledPatterns() {
+        // Check if compiled
+        for (String pattern : ScNumberFormatTest.COMPILED_PATTERNS)
+            assertTrue(pattern, new ScNumberFormat(pattern).isCompiled());
+    }
+
+    @Test
+    public void formatterPatterns() {
+        // Check if not compiled
+        for (String pattern : ScNumberFormatTest.FORMATTER_PATTERNS)
+            assertFalse(pattern, new ScNumberFormat(pattern).isCompiled());
+    }
+
+    @Test
+    public void formatLikeDecimalFormat() {
+        // Cycle all the patterns
+        float[] values = ScNumberFormatTest.createValues();
+        for (String pattern : ScNumberFormatTest.COMPILED_PATTERNS)
+            ScNumberFormatTest.check(pattern, values);
+    }
+
+    @Test
+    public void formatSpecialValues() {
+        // The values that cannot be compiled must be formatted by the DecimalFormat
+        float[] values = new float[] {
+                0.0f, -0.0f, Float.NaN, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY,
+                Float.MAX_VALUE, -Float.MAX_VALUE, Float.MIN_VALUE, 1e15f, 0.5f, 1.5f, 2.5f
+        };
+        for (String pattern : ScNumberFormatTest.COMPILED_PATTERNS)
+            for (float value : values)
+                ScNumberFormatTest.check(pattern, value);
+    }
+
+}